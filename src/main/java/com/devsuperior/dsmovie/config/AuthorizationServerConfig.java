@@ -8,13 +8,16 @@ import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,10 +26,8 @@ import org.springframework.security.oauth2.core.OAuth2Token;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationConsentService;
-import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
-import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
 import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
@@ -40,18 +41,22 @@ import org.springframework.security.oauth2.server.authorization.token.Delegating
 import org.springframework.security.oauth2.server.authorization.token.JwtEncodingContext;
 import org.springframework.security.oauth2.server.authorization.token.JwtGenerator;
 import org.springframework.security.oauth2.server.authorization.token.OAuth2AccessTokenGenerator;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2RefreshTokenGenerator;
 import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
 import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenGenerator;
 import org.springframework.security.web.SecurityFilterChain;
 
 import com.devsuperior.dsmovie.config.customgrant.CustomPasswordAuthenticationConverter;
 import com.devsuperior.dsmovie.config.customgrant.CustomPasswordAuthenticationProvider;
-import com.devsuperior.dsmovie.config.customgrant.CustomUserAuthorities;
+import com.devsuperior.dsmovie.config.customgrant.PasswordHashingExecutor;
+import com.devsuperior.dsmovie.config.customgrant.TokenErrorResponseHandler;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 @Configuration
 public class AuthorizationServerConfig {
 
@@ -64,12 +69,37 @@ public class AuthorizationServerConfig {
 	@Value("${security.jwt.duration}")
 	private Integer jwtDurationSeconds;
 
+	@Value("${security.jwt.refresh-duration}")
+	private Integer refreshDurationSeconds;
+
+	@Value("${security.jwt.cache.max-size}")
+	private long jwtCacheMaxSize;
+
+	@Value("${security.authorization-store.type}")
+	private String authorizationStoreType;
+
+	@Value("${security.authorization-store.max-size}")
+	private long authorizationStoreMaxSize;
+
+	@Value("${security.authorization-store.purge-interval}")
+	private Duration authorizationStorePurgeInterval;
+
+	@Value("${security.password-hashing.threads}")
+	private int passwordHashingThreads;
+
+	@Value("${security.password-hashing.queue-capacity}")
+	private int passwordHashingQueueCapacity;
+
+	@Value("${security.password-hashing.timeout}")
+	private Duration passwordHashingTimeout;
+
 	@Autowired
 	private UserDetailsService userDetailsService;
 
 	@Bean
 	@Order(2)
-	public SecurityFilterChain asSecurityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain asSecurityFilterChain(HttpSecurity http, OAuth2AuthorizationService authorizationService,
+			PasswordHashingExecutor passwordHashingExecutor) throws Exception {
 
 		OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
 
@@ -77,7 +107,8 @@ public class AuthorizationServerConfig {
 		http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
 			.tokenEndpoint(tokenEndpoint -> tokenEndpoint
 				.accessTokenRequestConverter(new CustomPasswordAuthenticationConverter())
-				.authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, passwordEncoder())));
+				.authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService, tokenGenerator(), userDetailsService, passwordHashingExecutor))
+				.errorResponseHandler(new TokenErrorResponseHandler()));
 
 		http.oauth2ResourceServer(oauth2ResourceServer -> oauth2ResourceServer.jwt(Customizer.withDefaults()));
 		// @formatter:on
@@ -85,9 +116,27 @@ public class AuthorizationServerConfig {
 		return http.build();
 	}
 
+	/**
+	 * One authorization is saved per login. The memory store drops them when their tokens expire
+	 * and caps their number; the jdbc store shares them between nodes.
+	 */
 	@Bean
-	public OAuth2AuthorizationService authorizationService() {
-		return new InMemoryOAuth2AuthorizationService();
+	public OAuth2AuthorizationService authorizationService(ObjectProvider<JdbcOperations> jdbcOperations,
+			RegisteredClientRepository registeredClientRepository) {
+		if ("jdbc".equals(authorizationStoreType)) {
+			return new PurgingJdbcOAuth2AuthorizationService(jdbcOperations.getObject(), registeredClientRepository,
+					authorizationStorePurgeInterval);
+		}
+		return new ExpiringOAuth2AuthorizationService(authorizationStoreMaxSize, Duration.ofSeconds(jwtDurationSeconds));
+	}
+
+	@Bean
+	public MeterBinder authorizationServiceMetrics(OAuth2AuthorizationService authorizationService) {
+		return registry -> {
+			if (authorizationService instanceof MeterBinder binder) {
+				binder.bindTo(registry);
+			}
+		};
 	}
 
 	@Bean
@@ -100,16 +149,27 @@ public class AuthorizationServerConfig {
 		return new BCryptPasswordEncoder();
 	}
 
+	/**
+	 * Bounded pool for the bcrypt checks of the password grant, kept apart from the request threads.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public PasswordHashingExecutor passwordHashingExecutor(PasswordEncoder passwordEncoder) {
+		return new PasswordHashingExecutor(passwordEncoder, passwordHashingThreads, passwordHashingQueueCapacity,
+				passwordHashingTimeout);
+	}
+
 	@Bean
 	public RegisteredClientRepository registeredClientRepository() {
 		// @formatter:off
+		// stable id: the jdbc authorization store resolves clients by it on every node
 		RegisteredClient registeredClient = RegisteredClient
-			.withId(UUID.randomUUID().toString())
+			.withId(clientId)
 			.clientId(clientId)
 			.clientSecret(passwordEncoder().encode(clientSecret))
 			.scope("read")
 			.scope("write")
 			.authorizationGrantType(new AuthorizationGrantType("password"))
+			.authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
 			.tokenSettings(tokenSettings())
 			.clientSettings(clientSettings())
 			.build();
@@ -124,6 +184,7 @@ public class AuthorizationServerConfig {
 		return TokenSettings.builder()
 			.accessTokenFormat(OAuth2TokenFormat.SELF_CONTAINED)
 			.accessTokenTimeToLive(Duration.ofSeconds(jwtDurationSeconds))
+			.refreshTokenTimeToLive(Duration.ofSeconds(refreshDurationSeconds))
 			.build();
 		// @formatter:on
 	}
@@ -144,28 +205,36 @@ public class AuthorizationServerConfig {
 		JwtGenerator jwtGenerator = new JwtGenerator(jwtEncoder);
 		jwtGenerator.setJwtCustomizer(tokenCustomizer());
 		OAuth2AccessTokenGenerator accessTokenGenerator = new OAuth2AccessTokenGenerator();
-		return new DelegatingOAuth2TokenGenerator(jwtGenerator, accessTokenGenerator);
+		OAuth2RefreshTokenGenerator refreshTokenGenerator = new OAuth2RefreshTokenGenerator();
+		return new DelegatingOAuth2TokenGenerator(jwtGenerator, accessTokenGenerator, refreshTokenGenerator);
 	}
 
 	@Bean
 	public OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer() {
 		return context -> {
-			OAuth2ClientAuthenticationToken principal = context.getPrincipal();
-			CustomUserAuthorities user = (CustomUserAuthorities) principal.getDetails();
-			List<String> authorities = user.getAuthorities().stream().map(x -> x.getAuthority()).toList();
+			// the user principal saved with the authorization, for both the password and refresh grants
+			Authentication principal = context.getPrincipal();
+			List<String> authorities = principal.getAuthorities().stream().map(x -> x.getAuthority()).toList();
 			if (context.getTokenType().getValue().equals("access_token")) {
 				// @formatter:off
 				context.getClaims()
 					.claim("authorities", authorities)
-					.claim("username", user.getUsername());
+					.claim("username", principal.getName());
 				// @formatter:on
+				// a Number: the jdbc store reads small ids back as Integer
+				Number userId = context.getAuthorization() == null ? null
+						: context.getAuthorization().getAttribute(CustomPasswordAuthenticationProvider.USER_ID_ATTRIBUTE);
+				if (userId != null) {
+					context.getClaims().claim("user_id", userId.longValue());
+				}
 			}
 		};
 	}
 
 	@Bean
-	public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-		return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+	public CachingJwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
+		JwtDecoder delegate = OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+		return new CachingJwtDecoder(delegate, jwtCacheMaxSize);
 	}
 
 	@Bean
@@ -0,0 +1,93 @@
+package com.devsuperior.dsmovie.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers tokens the delegate has already parsed, verified and validated, keyed by their SHA-256,
+ * until their exp claim, so a token reused across requests is RSA-verified once. Tokens without exp
+ * and rejected tokens are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder, MeterBinder {
+
+	private final JwtDecoder delegate;
+	private final Cache<String, Jwt> verified;
+
+	public CachingJwtDecoder(JwtDecoder delegate, long maxSize) {
+		this(delegate, maxSize, Ticker.systemTicker());
+	}
+
+	CachingJwtDecoder(JwtDecoder delegate, long maxSize, Ticker ticker) {
+		this.delegate = delegate;
+		this.verified = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new ExpiresAt())
+				.ticker(ticker)
+				.recordStats()
+				.build();
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		String key = hash(token);
+		Jwt jwt = verified.getIfPresent(key);
+		if (jwt != null && jwt.getTokenValue().equals(token)) {
+			return jwt;
+		}
+		jwt = delegate.decode(token);
+		if (jwt.getExpiresAt() != null) {
+			verified.put(key, jwt);
+		}
+		return jwt;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, verified, "jwt.decoder");
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(digest);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class ExpiresAt implements Expiry<String, Jwt> {
+
+		@Override
+		public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+			return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, jwt, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.devsuperior.dsmovie.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-memory authorization store that forgets an authorization once its last token expires and
+ * never holds more than maxSize of them, evicting the least valuable first. Unlike
+ * InMemoryOAuth2AuthorizationService, lookups by token value go through an index instead of a scan.
+ */
+public class ExpiringOAuth2AuthorizationService implements OAuth2AuthorizationService, MeterBinder {
+
+	private static final List<Class<? extends OAuth2Token>> TOKEN_TYPES = List.of(
+			OAuth2AuthorizationCode.class, OAuth2AccessToken.class, OAuth2RefreshToken.class, OidcIdToken.class);
+
+	private final Duration defaultTtl;
+	private final Cache<String, OAuth2Authorization> authorizations;
+	private final Map<String, String> idsByToken = new ConcurrentHashMap<>();
+
+	public ExpiringOAuth2AuthorizationService(long maxSize, Duration defaultTtl) {
+		this(maxSize, defaultTtl, Ticker.systemTicker());
+	}
+
+	ExpiringOAuth2AuthorizationService(long maxSize, Duration defaultTtl, Ticker ticker) {
+		this.defaultTtl = defaultTtl;
+		this.authorizations = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new TokenExpiry())
+				.evictionListener((String id, OAuth2Authorization authorization, RemovalCause cause) -> unindex(id, authorization))
+				.ticker(ticker)
+				.recordStats()
+				.build();
+	}
+
+	@Override
+	public void save(OAuth2Authorization authorization) {
+		Assert.notNull(authorization, "authorization cannot be null");
+		authorizations.asMap().compute(authorization.getId(), (id, previous) -> {
+			if (previous != null) {
+				unindex(id, previous);
+			}
+			for (String value : tokenValues(authorization)) {
+				idsByToken.put(value, id);
+			}
+			return authorization;
+		});
+	}
+
+	@Override
+	public void remove(OAuth2Authorization authorization) {
+		Assert.notNull(authorization, "authorization cannot be null");
+		authorizations.asMap().computeIfPresent(authorization.getId(), (id, previous) -> {
+			unindex(id, previous);
+			return null;
+		});
+	}
+
+	@Nullable
+	@Override
+	public OAuth2Authorization findById(String id) {
+		Assert.hasText(id, "id cannot be empty");
+		return authorizations.getIfPresent(id);
+	}
+
+	@Nullable
+	@Override
+	public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
+		Assert.hasText(token, "token cannot be empty");
+		String id = idsByToken.get(token);
+		if (id == null) {
+			return null;
+		}
+		OAuth2Authorization authorization = authorizations.getIfPresent(id);
+		return authorization != null && hasToken(authorization, token, tokenType) ? authorization : null;
+	}
+
+	public long size() {
+		authorizations.cleanUp();
+		return authorizations.estimatedSize();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, authorizations, "oauth2.authorizations");
+	}
+
+	private void unindex(String id, OAuth2Authorization authorization) {
+		for (String value : tokenValues(authorization)) {
+			idsByToken.remove(value, id);
+		}
+	}
+
+	private static List<String> tokenValues(OAuth2Authorization authorization) {
+		List<String> values = new ArrayList<>();
+		String state = authorization.getAttribute(OAuth2ParameterNames.STATE);
+		if (state != null) {
+			values.add(state);
+		}
+		for (Class<? extends OAuth2Token> type : TOKEN_TYPES) {
+			OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(type);
+			if (token != null) {
+				values.add(token.getToken().getTokenValue());
+			}
+		}
+		return values;
+	}
+
+	private static boolean hasToken(OAuth2Authorization authorization, String token, @Nullable OAuth2TokenType tokenType) {
+		if (tokenType == null) {
+			return tokenValues(authorization).contains(token);
+		}
+		if (OAuth2ParameterNames.STATE.equals(tokenType.getValue())) {
+			return token.equals(authorization.getAttribute(OAuth2ParameterNames.STATE));
+		}
+		Class<? extends OAuth2Token> type = switch (tokenType.getValue()) {
+			case OAuth2ParameterNames.CODE -> OAuth2AuthorizationCode.class;
+			case OAuth2ParameterNames.ACCESS_TOKEN -> OAuth2AccessToken.class;
+			case OAuth2ParameterNames.REFRESH_TOKEN -> OAuth2RefreshToken.class;
+			case OidcParameterNames.ID_TOKEN -> OidcIdToken.class;
+			default -> null;
+		};
+		OAuth2Authorization.Token<? extends OAuth2Token> match = type == null ? null : authorization.getToken(type);
+		return match != null && token.equals(match.getToken().getTokenValue());
+	}
+
+	/**
+	 * Keeps an authorization until the latest expiry among its tokens, or for the default TTL
+	 * when none of them expires.
+	 */
+	private class TokenExpiry implements Expiry<String, OAuth2Authorization> {
+
+		@Override
+		public long expireAfterCreate(String id, OAuth2Authorization authorization, long currentTime) {
+			Instant latest = null;
+			for (Class<? extends OAuth2Token> type : TOKEN_TYPES) {
+				OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(type);
+				Instant expiresAt = token == null ? null : token.getToken().getExpiresAt();
+				if (expiresAt != null && (latest == null || expiresAt.isAfter(latest))) {
+					latest = expiresAt;
+				}
+			}
+			Duration ttl = latest == null ? defaultTtl : Duration.between(Instant.now(), latest);
+			return Math.max(0, ttl.toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String id, OAuth2Authorization authorization, long currentTime, long currentDuration) {
+			return expireAfterCreate(id, authorization, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String id, OAuth2Authorization authorization, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.devsuperior.dsmovie.config;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.security.oauth2.server.authorization.JdbcOAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Shared authorization store for multi-node deployments, on the schema of
+ * oauth2-authorization-schema.sql from Spring Authorization Server. Rows whose tokens have all
+ * expired are deleted by the save that follows each purge interval, so no scheduler is needed.
+ */
+public class PurgingJdbcOAuth2AuthorizationService extends JdbcOAuth2AuthorizationService implements MeterBinder {
+
+	private static final String PURGE_EXPIRED = """
+			DELETE FROM oauth2_authorization
+			WHERE (authorization_code_expires_at IS NULL OR authorization_code_expires_at < ?)
+				AND (access_token_expires_at IS NULL OR access_token_expires_at < ?)
+				AND (refresh_token_expires_at IS NULL OR refresh_token_expires_at < ?)
+				AND (oidc_id_token_expires_at IS NULL OR oidc_id_token_expires_at < ?)
+				AND (authorization_code_expires_at IS NOT NULL OR access_token_expires_at IS NOT NULL
+					OR refresh_token_expires_at IS NOT NULL)
+			""";
+
+	private final JdbcOperations jdbcOperations;
+	private final long purgeIntervalMillis;
+	private final AtomicLong nextPurge = new AtomicLong();
+	private final AtomicLong purged = new AtomicLong();
+
+	public PurgingJdbcOAuth2AuthorizationService(JdbcOperations jdbcOperations,
+			RegisteredClientRepository registeredClientRepository, Duration purgeInterval) {
+		super(jdbcOperations, registeredClientRepository);
+		this.jdbcOperations = jdbcOperations;
+		this.purgeIntervalMillis = purgeInterval.toMillis();
+	}
+
+	@Override
+	public void save(OAuth2Authorization authorization) {
+		super.save(authorization);
+		long now = System.currentTimeMillis();
+		long next = nextPurge.get();
+		if (now >= next && nextPurge.compareAndSet(next, now + purgeIntervalMillis)) {
+			purgeExpired();
+		}
+	}
+
+	public int purgeExpired() {
+		Timestamp now = Timestamp.from(Instant.now());
+		int deleted = jdbcOperations.update(PURGE_EXPIRED, now, now, now, now);
+		purged.addAndGet(deleted);
+		return deleted;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("oauth2.authorizations.purged", purged, AtomicLong::get)
+				.description("Expired authorizations deleted from oauth2_authorization")
+				.register(registry);
+	}
+}
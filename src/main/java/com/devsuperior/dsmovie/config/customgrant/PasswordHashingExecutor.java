@@ -0,0 +1,97 @@
+package com.devsuperior.dsmovie.config.customgrant;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Runs password checks on a small pool of its own so a burst of logins cannot take every request
+ * thread. Checks beyond the pool and its queue, or waiting longer than the timeout, are refused
+ * with a RejectedExecutionException instead of piling up.
+ */
+public class PasswordHashingExecutor implements MeterBinder {
+
+	private static final String METRIC_NAME = "password.hashing";
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final Duration timeout;
+	private final LongAdder rejected = new LongAdder();
+
+	public PasswordHashingExecutor(PasswordEncoder passwordEncoder, int threads, int queueCapacity, Duration timeout) {
+		this.passwordEncoder = passwordEncoder;
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		Future<Boolean> result;
+		try {
+			result = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+		}
+		catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw e;
+		}
+		try {
+			return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			result.cancel(true);
+			rejected.increment();
+			throw new RejectedExecutionException("Password check timed out", e);
+		}
+		catch (InterruptedException e) {
+			result.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted waiting for password check", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(registry);
+		FunctionCounter.builder(METRIC_NAME + ".rejected", rejected, LongAdder::sum)
+				.description("Password checks refused because the pool was saturated or too slow")
+				.register(registry);
+	}
+
+	private static class HashingThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
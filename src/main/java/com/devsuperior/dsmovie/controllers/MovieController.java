@@ -1,14 +1,18 @@
 package com.devsuperior.dsmovie.controllers;
 
 import java.net.URI;
+import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,9 +24,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dsmovie.controllers.MovieResponseCache.CachedResponse;
+import com.devsuperior.dsmovie.dto.CursorPageDTO;
+import com.devsuperior.dsmovie.dto.MovieBatchDTO;
 import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.services.CatalogVersion;
 import com.devsuperior.dsmovie.services.MovieService;
 
 import jakarta.validation.Valid;
@@ -35,31 +45,135 @@ public class MovieController {
 	@Autowired
 	private MovieService service;
 
+	@Autowired
+	private MovieResponseCache responseCache;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
 	@Operation(
 			description = "Get all movies",
-			summary = "Paged list of all movies.",
+			summary = "Paged list of all movies. With withTotal=false the total count is skipped and a slice is returned. "
+					+ "With approximateTotal=true the total may be served from a cache and lag writes by up to movie.total-cache.ttl.",
 			responses = {
-					@ApiResponse(description = "OK", responseCode = "200")
+					@ApiResponse(description = "OK", responseCode = "200"),
+					@ApiResponse(description = "NotModified", responseCode = "304")
 			}
 	)
 	@GetMapping(produces = "application/json")
-	public Page<MovieDTO> findAll(
+	public Slice<MovieDTO> findAll(
 			@RequestParam(value="title", defaultValue = "") String title, 
-			Pageable pageable) {
-		return service.findAll(title, pageable);
+			@RequestParam(value="withTotal", defaultValue = "true") Boolean withTotal,
+			@RequestParam(value="approximateTotal", defaultValue = "false") Boolean approximateTotal,
+			Pageable pageable, WebRequest request) {
+		if (notModified(request)) {
+			return null;
+		}
+		return service.findAll(title, withTotal, approximateTotal, pageable);
 	}
 
 	@Operation(
-			description = "Get movie by id",
-			summary = "Get movie by id.",
+			description = "Get all movies without links",
+			summary = "Paged list of all movies in the link-free representation. Accepts withTotal and approximateTotal like the list with links.",
+			responses = {
+					@ApiResponse(description = "OK", responseCode = "200"),
+					@ApiResponse(description = "NotModified", responseCode = "304")
+			}
+	)
+	@GetMapping(params = "links=false", produces = "application/json")
+	public Slice<MovieSummaryDTO> findAllSummaries(
+			@RequestParam(value="title", defaultValue = "") String title,
+			@RequestParam(value="withTotal", defaultValue = "true") Boolean withTotal,
+			@RequestParam(value="approximateTotal", defaultValue = "false") Boolean approximateTotal,
+			Pageable pageable, WebRequest request) {
+		if (notModified(request)) {
+			return null;
+		}
+		return service.findAllSummaries(title, withTotal, approximateTotal, pageable);
+	}
+
+	@Operation(
+			description = "Get movies after a cursor",
+			summary = "Keyset paged list of movies. Pass an empty 'after' for the first slice and the returned 'next' for the following ones.",
+			responses = {
+					@ApiResponse(description = "OK", responseCode = "200"),
+					@ApiResponse(description = "NotModified", responseCode = "304"),
+					@ApiResponse(description = "BadRequest", responseCode = "400")
+			}
+	)
+	@GetMapping(params = "after", produces = "application/json")
+	public CursorPageDTO<MovieDTO> findAllAfter(
+			@RequestParam(value="title", defaultValue = "") String title,
+			@RequestParam(value="after") String after,
+			Pageable pageable, WebRequest request) {
+		if (notModified(request)) {
+			return null;
+		}
+		return service.findAllAfter(title, after, pageable);
+	}
+
+	@Operation(
+			description = "Get movies after a cursor without links",
+			summary = "Keyset paged list of movies in the link-free representation.",
+			responses = {
+					@ApiResponse(description = "OK", responseCode = "200"),
+					@ApiResponse(description = "NotModified", responseCode = "304"),
+					@ApiResponse(description = "BadRequest", responseCode = "400")
+			}
+	)
+	@GetMapping(params = {"after", "links=false"}, produces = "application/json")
+	public CursorPageDTO<MovieSummaryDTO> findAllSummariesAfter(
+			@RequestParam(value="title", defaultValue = "") String title,
+			@RequestParam(value="after") String after,
+			Pageable pageable, WebRequest request) {
+		if (notModified(request)) {
+			return null;
+		}
+		return service.findAllSummariesAfter(title, after, pageable);
+	}
+
+	@Operation(
+			description = "Get movies by ids",
+			summary = "Movies of a comma separated id list in the requested order, plus the ids not found. At most 1000 ids.",
 			responses = {
 					@ApiResponse(description = "OK", responseCode = "200"),
+					@ApiResponse(description = "BadRequest", responseCode = "400")
+			}
+	)
+	@GetMapping(value = "/batch", produces = "application/json")
+	public MovieBatchDTO findAllById(@RequestParam(value="ids") List<Long> ids) {
+		return service.findAllById(ids);
+	}
+
+	@Operation(
+			description = "Get movie by id",
+			summary = "Get movie by id. The body is served pre-serialized with a strong ETag.",
+			responses = {
+					@ApiResponse(description = "OK", responseCode = "200",
+							content = @Content(mediaType = "application/json", schema = @Schema(implementation = MovieDTO.class))),
 					@ApiResponse(description = "NotFound", responseCode = "404")
 			}
 	)
 	@GetMapping(value = "/{id}", produces = "application/json")
-	public MovieDTO findById(@PathVariable Long id) {
-		return service.findById(id);
+	public ResponseEntity<byte[]> findById(@PathVariable Long id) {
+		CachedResponse response = responseCache.get(service.findSummaryById(id), service::toDetail);
+		return ResponseEntity.ok()
+				.contentType(response.contentType() != null ? response.contentType() : MediaType.APPLICATION_JSON)
+				.eTag(response.eTag())
+				.body(response.body());
+	}
+
+	@Operation(
+			description = "Get movie by id without links",
+			summary = "Get movie by id in the link-free representation.",
+			responses = {
+					@ApiResponse(description = "OK", responseCode = "200"),
+					@ApiResponse(description = "NotFound", responseCode = "404")
+			}
+	)
+	@GetMapping(value = "/{id}", params = "links=false", produces = "application/json")
+	public MovieSummaryDTO findSummaryById(@PathVariable Long id) {
+		return service.findSummaryById(id);
 	}
 
 	@Operation(
@@ -92,6 +206,7 @@ public class MovieController {
 					@ApiResponse(description = "NotFound", responseCode = "404"),
 					@ApiResponse(description = "Unauthorized", responseCode = "401"),
 					@ApiResponse(description = "Forbidden", responseCode = "403"),
+					@ApiResponse(description = "Conflict", responseCode = "409"),
 					@ApiResponse(description = "UnProcessableEntity", responseCode = "422")
 			}
 	)
@@ -120,4 +235,13 @@ public class MovieController {
 		service.delete(id);
 		return ResponseEntity.noContent().build();
 	}
+
+	/**
+	 * Conditional GET for listings: the ETag covers the catalogue version and the full request URL,
+	 * so a poll matching it answers 304 before any query or serialization runs.
+	 */
+	private boolean notModified(WebRequest request) {
+		String eTag = catalogVersion.eTag(ServletUriComponentsBuilder.fromCurrentRequest().toUriString());
+		return request.checkNotModified(eTag);
+	}
 }
@@ -0,0 +1,133 @@
+package com.devsuperior.dsmovie.controllers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.services.MovieCache;
+import com.devsuperior.dsmovie.services.MovieLinkFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serialized movie detail responses per movie and base URI, written with the same message
+ * converters MVC would pick, so a hit costs no DTO, links or Jackson work. Every write path
+ * invalidates MovieCache, which drops the movie's responses here too; an entry is also only
+ * served for the row version it was rendered from, so a render of an older snapshot racing the
+ * eviction is replaced on the next request. The ETag is the movie id and row version.
+ */
+@Component
+public class MovieResponseCache implements MeterBinder {
+
+	@Value("${movie.response-cache.max-size}")
+	private long maxSize;
+
+	@Autowired
+	private ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+	@Autowired
+	private MovieLinkFactory links;
+
+	@Autowired
+	private MovieCache movieCache;
+
+	// per movie id, the responses of its current version by base URI
+	private Cache<Long, Entry> responses;
+
+	@PostConstruct
+	public void start() {
+		responses = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+		movieCache.addInvalidationListener(responses::invalidate);
+	}
+
+	public CachedResponse get(MovieSummaryDTO movie, Function<MovieSummaryDTO, ?> renderer) {
+		Entry entry = responses.getIfPresent(movie.getId());
+		if (entry == null || !Objects.equals(entry.version(), movie.getVersion())) {
+			entry = new Entry(movie.getVersion(), new ConcurrentHashMap<>());
+			responses.put(movie.getId(), entry);
+		}
+		String base = links.base();
+		CachedResponse response = entry.bodies().get(base);
+		if (response == null) {
+			response = serialize(renderer.apply(movie), eTag(movie));
+			entry.bodies().put(base, response);
+		}
+		return response;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, responses, "movie.responses");
+	}
+
+	@SuppressWarnings("unchecked")
+	private CachedResponse serialize(Object body, String eTag) {
+		for (HttpMessageConverter<?> converter : handlerAdapter.getObject().getMessageConverters()) {
+			if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+				BufferedOutputMessage message = new BufferedOutputMessage();
+				try {
+					((HttpMessageConverter<Object>) converter).write(body, MediaType.APPLICATION_JSON, message);
+				}
+				catch (IOException e) {
+					throw new HttpMessageNotWritableException("Could not serialize movie", e);
+				}
+				return new CachedResponse(message.body.toByteArray(), message.headers.getContentType(), eTag);
+			}
+		}
+		throw new HttpMessageNotWritableException("No converter for " + body.getClass().getName());
+	}
+
+	private static String eTag(MovieSummaryDTO movie) {
+		return "\"" + movie.getId() + "-" + movie.getVersion() + "\"";
+	}
+
+	/**
+	 * Response body with the content type the converter chose and a strong ETag of the movie version.
+	 */
+	public record CachedResponse(byte[] body, MediaType contentType, String eTag) {
+	}
+
+	private record Entry(Long version, Map<String, CachedResponse> bodies) {
+	}
+
+	private static class BufferedOutputMessage implements HttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
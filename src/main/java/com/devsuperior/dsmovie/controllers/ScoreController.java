@@ -1,5 +1,7 @@
 package com.devsuperior.dsmovie.controllers;
 
+import java.io.IOException;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -7,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,8 +17,12 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.devsuperior.dsmovie.dto.MovieDTO;
 import com.devsuperior.dsmovie.dto.ScoreDTO;
+import com.devsuperior.dsmovie.dto.ScoreImportResultDTO;
+import com.devsuperior.dsmovie.services.ScoreImportService;
+import com.devsuperior.dsmovie.services.ScoreIngestionService;
 import com.devsuperior.dsmovie.services.ScoreService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -25,6 +32,12 @@ public class ScoreController {
 	
 	@Autowired
 	private ScoreService service;
+	
+	@Autowired
+	private ScoreIngestionService ingestionService;
+	
+	@Autowired
+	private ScoreImportService importService;
 
 	@Operation(
 			description = "Update a movie",
@@ -35,14 +48,34 @@ public class ScoreController {
 					@ApiResponse(description = "NotFound", responseCode = "404"),
 					@ApiResponse(description = "Unauthorized", responseCode = "401"),
 					@ApiResponse(description = "Forbidden", responseCode = "403"),
-					@ApiResponse(description = "UnProcessableEntity", responseCode = "422")
+					@ApiResponse(description = "UnProcessableEntity", responseCode = "422"),
+					@ApiResponse(description = "TooManyRequests", responseCode = "429"),
+					@ApiResponse(description = "ServiceUnavailable", responseCode = "503")
 			}
 	)
 	@SecurityRequirement(name = "BearerAuth")
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
 	@PutMapping(produces = "application/json")
 	public ResponseEntity<MovieDTO> saveScore(@Valid @RequestBody ScoreDTO dto) {
-		MovieDTO movieDTO = service.saveScore(dto);
+		MovieDTO movieDTO = ingestionService.isEnabled() ? ingestionService.submit(dto) : service.saveScore(dto);
 		return ResponseEntity.ok().body(movieDTO);
 	}
+
+	@Operation(
+			description = "Import scores in bulk from a JSON array or NDJSON body",
+			summary = "Import scores in bulk.",
+			responses = {
+					@ApiResponse(description = "Ok", responseCode = "200"),
+					@ApiResponse(description = "BadRequest", responseCode = "400"),
+					@ApiResponse(description = "Unauthorized", responseCode = "401"),
+					@ApiResponse(description = "Forbidden", responseCode = "403")
+			}
+	)
+	@SecurityRequirement(name = "BearerAuth")
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@PostMapping(value = "/import", consumes = {"application/json", "application/x-ndjson"}, produces = "application/json")
+	public ResponseEntity<ScoreImportResultDTO> importScores(HttpServletRequest request) throws IOException {
+		ScoreImportResultDTO result = importService.importScores(request.getInputStream());
+		return ResponseEntity.ok().body(result);
+	}
 }
@@ -0,0 +1,34 @@
+package com.devsuperior.dsmovie.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+	private List<T> content;
+	private Integer size;
+	private Boolean hasNext;
+	private String next;
+
+	public CursorPageDTO(List<T> content, Boolean hasNext, String next) {
+		this.content = content;
+		this.size = content.size();
+		this.hasNext = hasNext;
+		this.next = next;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public Boolean getHasNext() {
+		return hasNext;
+	}
+
+	public String getNext() {
+		return next;
+	}
+}
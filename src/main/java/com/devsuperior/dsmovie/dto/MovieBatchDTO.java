@@ -0,0 +1,22 @@
+package com.devsuperior.dsmovie.dto;
+
+import java.util.List;
+
+public class MovieBatchDTO {
+
+	private List<MovieDTO> content;
+	private List<Long> missing;
+
+	public MovieBatchDTO(List<MovieDTO> content, List<Long> missing) {
+		this.content = content;
+		this.missing = missing;
+	}
+
+	public List<MovieDTO> getContent() {
+		return content;
+	}
+
+	public List<Long> getMissing() {
+		return missing;
+	}
+}
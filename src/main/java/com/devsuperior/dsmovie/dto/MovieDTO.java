@@ -1,13 +1,10 @@
 package com.devsuperior.dsmovie.dto;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
-
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.hibernate.validator.constraints.URL;
 
 import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.utils.ScoreUtil;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -16,8 +13,6 @@ import org.springframework.hateoas.RepresentationModel;
 
 public class MovieDTO extends RepresentationModel<MovieDTO> {
 
-	private static final DecimalFormat df = new DecimalFormat("#.##", new DecimalFormatSymbols(Locale.US));
-
 	@Schema(description = "ID automatic generated by DB.")
 	private Long id;
 	
@@ -39,7 +34,7 @@ public class MovieDTO extends RepresentationModel<MovieDTO> {
 	public MovieDTO(Long id, String title, Double score, Integer count, String image) {
 		this.id = id;
 		this.title = title;
-		this.score = Double.valueOf(df.format(score));
+		this.score = score == null ? null : ScoreUtil.round(score);
 		this.count = count;
 		this.image = image;
 	}
@@ -48,6 +43,10 @@ public class MovieDTO extends RepresentationModel<MovieDTO> {
 		this(movie.getId(), movie.getTitle(), movie.getScore(), movie.getCount(), movie.getImage());
 	}
 
+	public MovieDTO(MovieSummaryDTO movie) {
+		this(movie.getId(), movie.getTitle(), movie.getScore(), movie.getCount(), movie.getImage());
+	}
+
 	public Long getId() {
 		return id;
 	}
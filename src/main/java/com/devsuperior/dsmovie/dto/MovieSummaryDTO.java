@@ -0,0 +1,64 @@
+package com.devsuperior.dsmovie.dto;
+
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.projections.MovieSummaryProjection;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.devsuperior.dsmovie.utils.ScoreUtil;
+
+/**
+ * Link-free, read-only movie representation served when clients pass links=false.
+ */
+public class MovieSummaryDTO {
+
+	private final Long id;
+	private final String title;
+	private final Double score;
+	private final Integer count;
+	private final String image;
+	private final Long version;
+
+	public MovieSummaryDTO(Long id, String title, Double score, Integer count, String image, Long version) {
+		this.id = id;
+		this.title = title;
+		this.score = score == null ? null : ScoreUtil.round(score);
+		this.count = count;
+		this.image = image;
+		this.version = version;
+	}
+
+	public MovieSummaryDTO(MovieEntity movie) {
+		this(movie.getId(), movie.getTitle(), movie.getScore(), movie.getCount(), movie.getImage(), movie.getVersion());
+	}
+
+	public MovieSummaryDTO(MovieSummaryProjection movie) {
+		this(movie.getId(), movie.getTitle(), movie.getScore(), movie.getCount(), movie.getImage(), movie.getVersion());
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public Double getScore() {
+		return score;
+	}
+
+	public Integer getCount() {
+		return count;
+	}
+
+	public String getImage() {
+		return image;
+	}
+
+	/**
+	 * Row version the snapshot was read at; not part of the representation.
+	 */
+	@JsonIgnore
+	public Long getVersion() {
+		return version;
+	}
+}
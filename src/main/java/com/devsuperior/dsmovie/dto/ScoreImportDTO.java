@@ -0,0 +1,37 @@
+package com.devsuperior.dsmovie.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class ScoreImportDTO {
+
+	@NotNull(message = "Required field")
+	private Long movieId;
+
+	@NotNull(message = "Required field")
+	private Long userId;
+
+	@NotNull(message = "Required field")
+	@PositiveOrZero(message = "Score should be greater than or equal to zero")
+	@Max(value = 5, message = "Score should not be greater than five")
+	private Double score;
+
+	public ScoreImportDTO(Long movieId, Long userId, Double score) {
+		this.movieId = movieId;
+		this.userId = userId;
+		this.score = score;
+	}
+
+	public Long getMovieId() {
+		return movieId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public Double getScore() {
+		return score;
+	}
+}
@@ -0,0 +1,38 @@
+package com.devsuperior.dsmovie.dto;
+
+public class ScoreImportResultDTO {
+
+	private Long received;
+	private Long imported;
+	private Long rejected;
+	private Long elapsedMillis;
+	private Long rowsPerSecond;
+
+	public ScoreImportResultDTO(Long received, Long imported, Long rejected, Long elapsedMillis) {
+		this.received = received;
+		this.imported = imported;
+		this.rejected = rejected;
+		this.elapsedMillis = elapsedMillis;
+		this.rowsPerSecond = elapsedMillis == 0 ? imported * 1000 : imported * 1000 / elapsedMillis;
+	}
+
+	public Long getReceived() {
+		return received;
+	}
+
+	public Long getImported() {
+		return imported;
+	}
+
+	public Long getRejected() {
+		return rejected;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public Long getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+}
@@ -4,25 +4,39 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import com.devsuperior.dsmovie.utils.TitleNormalizer;
 
 @Entity
-@Table(name = "tb_movie")
+@Table(name = "tb_movie", indexes = @Index(name = "idx_movie_normalized_title", columnList = "normalized_title"))
 public class MovieEntity {
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
+	// title, score and count are keyset sort keys, which cannot be null
+	@Column(nullable = false)
 	private String title;
+	private String normalizedTitle;
+	@Column(nullable = false)
 	private Double score;
+	private Double scoreSum;
+	@Column(nullable = false)
 	private Integer count;
 	private String image;
 	
+	@Version
+	private Long version;
+	
 	@OneToMany(mappedBy = "id.movie")
 	private Set<ScoreEntity> scores = new HashSet<>();
 	
@@ -32,7 +46,9 @@ public class MovieEntity {
 	public MovieEntity(Long id, String title, Double score, Integer count, String image) {
 		this.id = id;
 		this.title = title;
+		this.normalizedTitle = TitleNormalizer.normalize(title);
 		this.score = score;
+		this.scoreSum = score == null || count == null ? 0.0 : score * count;
 		this.count = count;
 		this.image = image;
 	}
@@ -49,8 +65,20 @@ public class MovieEntity {
 		return title;
 	}
 
+	/**
+	 * Also refreshes normalizedTitle, so every JPA write keeps the searched column in step.
+	 */
 	public void setTitle(String title) {
 		this.title = title;
+		this.normalizedTitle = TitleNormalizer.normalize(title);
+	}
+
+	public String getNormalizedTitle() {
+		return normalizedTitle;
+	}
+
+	public void setNormalizedTitle(String normalizedTitle) {
+		this.normalizedTitle = normalizedTitle;
 	}
 
 	public Double getScore() {
@@ -61,6 +89,14 @@ public class MovieEntity {
 		this.score = score;
 	}
 
+	public Double getScoreSum() {
+		return scoreSum;
+	}
+
+	public void setScoreSum(Double scoreSum) {
+		this.scoreSum = scoreSum;
+	}
+
 	public Integer getCount() {
 		return count;
 	}
@@ -77,6 +113,10 @@ public class MovieEntity {
 		this.image = image;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
 	public Set<ScoreEntity> getScores() {
 		return scores;
 	}
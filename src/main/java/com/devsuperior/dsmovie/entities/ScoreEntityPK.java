@@ -3,17 +3,23 @@ package com.devsuperior.dsmovie.entities;
 import java.util.Objects;
 
 import jakarta.persistence.Embeddable;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 
+/**
+ * Both sides are lazy so loading scores does not select their movies and users; queries that
+ * read them fetch them explicitly. Equality compares the ids, which an uninitialized proxy
+ * returns without a select.
+ */
 @Embeddable
 public class ScoreEntityPK {
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "movie_id")
 	private MovieEntity movie;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
 	private UserEntity user;
 	
@@ -38,7 +44,7 @@ public class ScoreEntityPK {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(movie, user);
+		return Objects.hash(movieId(), userId());
 	}
 
 	@Override
@@ -50,6 +56,14 @@ public class ScoreEntityPK {
 		if (getClass() != obj.getClass())
 			return false;
 		ScoreEntityPK other = (ScoreEntityPK) obj;
-		return Objects.equals(movie, other.movie) && Objects.equals(user, other.user);
+		return Objects.equals(movieId(), other.movieId()) && Objects.equals(userId(), other.userId());
+	}
+
+	private Long movieId() {
+		return movie == null ? null : movie.getId();
+	}
+
+	private Long userId() {
+		return user == null ? null : user.getId();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.devsuperior.dsmovie.projections;
+
+public interface MovieSummaryProjection {
+
+	Long getId();
+	String getTitle();
+	Double getScore();
+	Integer getCount();
+	String getImage();
+	Long getVersion();
+}
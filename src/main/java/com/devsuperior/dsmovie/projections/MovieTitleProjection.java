@@ -0,0 +1,7 @@
+package com.devsuperior.dsmovie.projections;
+
+public interface MovieTitleProjection {
+
+	Long getId();
+	String getTitle();
+}
@@ -2,6 +2,7 @@ package com.devsuperior.dsmovie.projections;
 
 public interface UserDetailsProjection {
 
+	Long getUserId();
 	String getUsername();
 	String getPassword();
 	Long getRoleId();
@@ -1,15 +1,78 @@
 package com.devsuperior.dsmovie.repositories;
 
-import org.springframework.data.domain.Page;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
 import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.projections.MovieSummaryProjection;
+import com.devsuperior.dsmovie.projections.MovieTitleProjection;
 
 public interface MovieRepository extends JpaRepository<MovieEntity, Long> {
 	
-	@Query("SELECT obj FROM MovieEntity obj "
-			+ "WHERE UPPER(obj.title) LIKE UPPER(CONCAT('%', :title, '%'))")
-    Page<MovieEntity> searchByTitle(String title, Pageable pageable);
+	/**
+	 * Matches titles starting with the term on the pre-folded title column, so the search is a
+	 * range scan of idx_movie_normalized_title; callers pass a term normalized with TitleNormalizer.
+	 * Returns a Slice so no COUNT runs with the page, see countByTitle. Like the other summary
+	 * queries it selects only the listed columns into DTOs, so no entity is managed or tracked.
+	 */
+	@Query("SELECT new com.devsuperior.dsmovie.dto.MovieSummaryDTO(obj.id, obj.title, obj.score, obj.count, obj.image, obj.version) "
+			+ "FROM MovieEntity obj "
+			+ "WHERE obj.normalizedTitle LIKE CONCAT(:title, '%')")
+	Slice<MovieSummaryDTO> searchByTitle(String title, Pageable pageable);
+
+	@Query("SELECT new com.devsuperior.dsmovie.dto.MovieSummaryDTO(obj.id, obj.title, obj.score, obj.count, obj.image, obj.version) "
+			+ "FROM MovieEntity obj "
+			+ "WHERE obj.id = :id")
+	Optional<MovieSummaryDTO> searchSummaryById(Long id);
+
+	@Query("SELECT new com.devsuperior.dsmovie.dto.MovieSummaryDTO(obj.id, obj.title, obj.score, obj.count, obj.image, obj.version) "
+			+ "FROM MovieEntity obj "
+			+ "WHERE obj.id IN :ids")
+	List<MovieSummaryDTO> searchSummariesByIds(Collection<Long> ids);
+
+	@Query("SELECT COUNT(obj) FROM MovieEntity obj "
+			+ "WHERE obj.normalizedTitle LIKE CONCAT(:title, '%')")
+	long countByTitle(String title);
+
+	/**
+	 * Keyset variant of searchByTitle: seeks past the position instead of skipping rows
+	 * and does not count the matches. Selects only the projected columns, which include every
+	 * keyset sort key, so the positions carry the stored values rather than rounded scores.
+	 */
+	Window<MovieSummaryProjection> findByNormalizedTitleStartingWith(String normalizedTitle, ScrollPosition position,
+			Sort sort, Limit limit);
+
+	@Query("SELECT obj.id AS id, obj.title AS title FROM MovieEntity obj")
+	List<MovieTitleProjection> searchAllTitles();
+
+	List<MovieTitleProjection> findTop500ByNormalizedTitleIsNull();
+
+	@Modifying
+	@Query("UPDATE MovieEntity obj SET obj.normalizedTitle = :normalizedTitle WHERE obj.id = :id")
+	int updateNormalizedTitle(Long id, String normalizedTitle);
+
+	/**
+	 * Applies a vote to the score aggregate in a single statement, so concurrent votes
+	 * on the same movie serialize on the row lock instead of overwriting each other.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE MovieEntity obj "
+			+ "SET obj.scoreSum = obj.scoreSum + :delta, "
+			+ "obj.count = obj.count + :increment, "
+			+ "obj.score = (obj.scoreSum + :delta) / (obj.count + :increment), "
+			+ "obj.version = obj.version + 1 "
+			+ "WHERE obj.id = :id")
+	int applyScore(Long id, Double delta, Integer increment);
 }
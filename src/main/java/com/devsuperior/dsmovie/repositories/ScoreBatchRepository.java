@@ -0,0 +1,78 @@
+package com.devsuperior.dsmovie.repositories;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dsmovie.dto.ScoreImportDTO;
+
+/**
+ * JDBC access for bulk score ingestion, where going through JPA one entity at a time
+ * would dominate the cost.
+ */
+@Repository
+public class ScoreBatchRepository {
+
+	private static final String UPSERT_SCORE = """
+			MERGE INTO tb_score t
+			USING (SELECT CAST(? AS BIGINT) AS movie_id, CAST(? AS BIGINT) AS user_id, CAST(? AS DOUBLE PRECISION) AS score_value) s
+			ON t.movie_id = s.movie_id AND t.user_id = s.user_id
+			WHEN MATCHED THEN UPDATE SET score_value = s.score_value
+			WHEN NOT MATCHED THEN INSERT (movie_id, user_id, score_value) VALUES (s.movie_id, s.user_id, s.score_value)
+		""";
+
+	private static final String RECOMPUTE_MOVIE = """
+			UPDATE tb_movie SET
+				score_sum = (SELECT COALESCE(SUM(s.score_value), 0) FROM tb_score s WHERE s.movie_id = tb_movie.id),
+				count = (SELECT COUNT(*) FROM tb_score s WHERE s.movie_id = tb_movie.id),
+				score = COALESCE((SELECT SUM(s.score_value) / COUNT(*) FROM tb_score s WHERE s.movie_id = tb_movie.id), 0),
+				version = version + 1
+			WHERE id = ?
+		""";
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	/**
+	 * Upserts the rows whose movie and user exist with one JDBC batch and then recomputes the
+	 * aggregate of each affected movie once. The score is stored as sum / count, the same
+	 * expression MovieRepository.applyScore uses. Returns the number of rows written.
+	 */
+	@Transactional
+	public int saveAll(List<ScoreImportDTO> rows) {
+
+		Set<Long> movieIds = new HashSet<>();
+		Set<Long> userIds = new HashSet<>();
+		for (ScoreImportDTO row : rows) {
+			movieIds.add(row.getMovieId());
+			userIds.add(row.getUserId());
+		}
+		Set<Long> existingMovies = searchExistingIds("tb_movie", movieIds);
+		Set<Long> existingUsers = searchExistingIds("tb_user", userIds);
+
+		List<Object[]> args = rows.stream()
+				.filter(row -> existingMovies.contains(row.getMovieId()) && existingUsers.contains(row.getUserId()))
+				.map(row -> new Object[] {row.getMovieId(), row.getUserId(), row.getScore()})
+				.toList();
+
+		jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SCORE, args);
+		jdbcTemplate.getJdbcTemplate().batchUpdate(RECOMPUTE_MOVIE,
+				existingMovies.stream().map(id -> new Object[] {id}).toList());
+
+		return args.size();
+	}
+
+	private Set<Long> searchExistingIds(String table, Set<Long> ids) {
+		if (ids.isEmpty()) {
+			return Set.of();
+		}
+		return new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT id FROM " + table + " WHERE id IN (:ids)", Map.of("ids", ids), Long.class));
+	}
+}
@@ -1,10 +1,26 @@
 package com.devsuperior.dsmovie.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.devsuperior.dsmovie.entities.ScoreEntity;
 import com.devsuperior.dsmovie.entities.ScoreEntityPK;
 
 public interface ScoreRepository extends JpaRepository<ScoreEntity, ScoreEntityPK> {
 
-}
\ No newline at end of file
+	@Query("SELECT obj.value FROM ScoreEntity obj "
+			+ "WHERE obj.id.movie.id = :movieId AND obj.id.user.id = :userId")
+	Optional<Double> searchValueByMovieAndUser(Long movieId, Long userId);
+
+	/**
+	 * Scores of a movie with their users fetched in the same select, for callers that read the
+	 * voters; the mapping itself keeps users lazy.
+	 */
+	@Query("SELECT obj FROM ScoreEntity obj "
+			+ "JOIN FETCH obj.id.user "
+			+ "WHERE obj.id.movie.id = :movieId")
+	List<ScoreEntity> searchByMovieWithUser(Long movieId);
+}
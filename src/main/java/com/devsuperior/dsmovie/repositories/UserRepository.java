@@ -14,7 +14,7 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 	Optional<UserEntity> findByUsername(String username);
 	
 	@Query(nativeQuery = true, value = """
-			SELECT tb_user.username AS username, tb_user.password, tb_role.id AS roleId, tb_role.authority
+			SELECT tb_user.id AS userId, tb_user.username AS username, tb_user.password, tb_role.id AS roleId, tb_role.authority
 			FROM tb_user
 			INNER JOIN tb_user_role ON tb_user.id = tb_user_role.user_id
 			INNER JOIN tb_role ON tb_role.id = tb_user_role.role_id
@@ -0,0 +1,40 @@
+package com.devsuperior.dsmovie.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.devsuperior.dsmovie.utils.TransactionUtil;
+
+/**
+ * Catalogue-wide change counter behind the ETags of the movie listings. Every write to a movie row
+ * must call changed(); the node id keeps counters of different nodes apart, and ETags also roll
+ * over every TTL so writes made on other nodes show up within it.
+ */
+@Component
+public class CatalogVersion {
+
+	@Value("${movie.catalog-etag.ttl}")
+	private Duration ttl;
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final AtomicLong version = new AtomicLong();
+
+	public void changed() {
+		TransactionUtil.afterCommit(version::incrementAndGet);
+	}
+
+	/**
+	 * Strong ETag of a listing resource, the full request URL, at the current catalogue version.
+	 */
+	public String eTag(String resource) {
+		long period = System.currentTimeMillis() / ttl.toMillis();
+		String value = nodeId + ":" + version.get() + ":" + period + ":" + resource;
+		return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+}
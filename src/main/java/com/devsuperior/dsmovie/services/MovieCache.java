@@ -0,0 +1,141 @@
+package com.devsuperior.dsmovie.services;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.utils.SingleFlight;
+import com.devsuperior.dsmovie.utils.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Immutable snapshots of movies by id for the single-movie reads. Every write to a movie row,
+ * including score aggregation, must invalidate it; writes made on other nodes show up after
+ * the TTL. Missing movies are not cached.
+ * <p>
+ * Concurrent misses for the same id share one load through SingleFlight, also when the cache is
+ * disabled. A load that overlaps an invalidation still answers its callers but is not kept.
+ */
+@Component
+public class MovieCache implements MeterBinder {
+
+	@Value("${movie.cache.enabled}")
+	private boolean enabled;
+
+	@Value("${movie.cache.ttl}")
+	private Duration ttl;
+
+	@Value("${movie.cache.max-size}")
+	private long maxSize;
+
+	private Cache<Long, MovieSummaryDTO> movies;
+	private final SingleFlight<Long, MovieSummaryDTO> loads = new SingleFlight<>();
+	private final AtomicLong invalidations = new AtomicLong();
+	private final List<Consumer<Long>> listeners = new CopyOnWriteArrayList<>();
+
+	@PostConstruct
+	public void start() {
+		movies = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+	}
+
+	public Optional<MovieSummaryDTO> get(Long id, Function<Long, Optional<MovieSummaryDTO>> loader) {
+		if (!enabled) {
+			return Optional.ofNullable(loads.execute(id, key -> loader.apply(key).orElse(null)));
+		}
+		MovieSummaryDTO cached = movies.getIfPresent(id);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		return Optional.ofNullable(loads.execute(id, key -> load(key, loader)));
+	}
+
+	/**
+	 * Cached movies among the ids plus the others loaded with one loader call; ids that do not
+	 * exist are absent from the result. Batch loads are not coalesced with single-movie loads.
+	 */
+	public Map<Long, MovieSummaryDTO> getAll(Collection<Long> ids, Function<Collection<Long>, List<MovieSummaryDTO>> loader) {
+		Map<Long, MovieSummaryDTO> result = new HashMap<>(enabled ? movies.getAllPresent(ids) : Map.of());
+		List<Long> missing = ids.stream().filter(id -> !result.containsKey(id)).toList();
+		if (missing.isEmpty()) {
+			return result;
+		}
+		long stamp = invalidations.get();
+		for (MovieSummaryDTO movie : loader.apply(missing)) {
+			result.put(movie.getId(), movie);
+			if (enabled) {
+				movies.put(movie.getId(), movie);
+			}
+		}
+		if (enabled && invalidations.get() != stamp) {
+			movies.invalidateAll(missing);
+		}
+		return result;
+	}
+
+	/**
+	 * Drops the movie once the current transaction commits, so a rolled back write never
+	 * evicts and a reader never caches the uncommitted row after the eviction.
+	 */
+	public void invalidate(Long id) {
+		TransactionUtil.afterCommit(() -> {
+			invalidations.incrementAndGet();
+			movies.invalidate(id);
+			listeners.forEach(listener -> listener.accept(id));
+		});
+	}
+
+	/**
+	 * Registers a listener called with the id of every movie dropped by invalidate, after the
+	 * commit, so data derived from the movie can be dropped with it.
+	 */
+	public void addInvalidationListener(Consumer<Long> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, movies, "movie.summaries");
+		FunctionCounter.builder("movie.summaries.coalesced", loads, SingleFlight::coalesced)
+				.description("Movie reads served by a load already in flight for the same id")
+				.register(registry);
+	}
+
+	/**
+	 * Loads and caches the movie unless an invalidation ran meanwhile, in which case the
+	 * loaded row may predate the write and is dropped again.
+	 */
+	private MovieSummaryDTO load(Long id, Function<Long, Optional<MovieSummaryDTO>> loader) {
+		long stamp = invalidations.get();
+		MovieSummaryDTO movie = loader.apply(id).orElse(null);
+		if (movie != null) {
+			movies.put(id, movie);
+			if (invalidations.get() != stamp) {
+				movies.invalidate(id);
+			}
+		}
+		return movie;
+	}
+}
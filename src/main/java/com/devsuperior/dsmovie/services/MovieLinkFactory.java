@@ -0,0 +1,81 @@
+package com.devsuperior.dsmovie.services;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.devsuperior.dsmovie.controllers.MovieController;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Builds the MovieController links of movie representations without creating a methodOn proxy
+ * per link. The templates are resolved once through linkTo at startup, when no request is bound
+ * and hrefs are relative, and each link is the current base URI followed by the template with
+ * the id in place, which is what linkTo produces for the same invocation.
+ */
+@Component
+public class MovieLinkFactory {
+
+	private static final String ID_PLACEHOLDER = String.valueOf(Long.MAX_VALUE);
+	private static final String BASE_ATTRIBUTE = MovieLinkFactory.class.getName() + ".base";
+
+	private final String findAllTemplate;
+	private final String[] findByIdTemplate;
+	private final String[] updateTemplate;
+	private final String[] deleteTemplate;
+
+	public MovieLinkFactory() {
+		findAllTemplate = linkTo(methodOn(MovieController.class).findAll(null, null, null, null, null)).withSelfRel().getHref();
+		findByIdTemplate = split(linkTo(methodOn(MovieController.class).findById(Long.MAX_VALUE)).withSelfRel());
+		updateTemplate = split(linkTo(methodOn(MovieController.class).update(Long.MAX_VALUE, null)).withSelfRel());
+		deleteTemplate = split(linkTo(methodOn(MovieController.class).delete(Long.MAX_VALUE)).withSelfRel());
+	}
+
+	public Link findAll(LinkRelation rel) {
+		return Link.of(base() + findAllTemplate, rel);
+	}
+
+	public Link findById(Long id, LinkRelation rel) {
+		return expand(findByIdTemplate, id, rel);
+	}
+
+	public Link update(Long id, LinkRelation rel) {
+		return expand(updateTemplate, id, rel);
+	}
+
+	public Link delete(Long id, LinkRelation rel) {
+		return expand(deleteTemplate, id, rel);
+	}
+
+	private Link expand(String[] template, Long id, LinkRelation rel) {
+		return Link.of(base() + template[0] + id + template[1], rel);
+	}
+
+	/**
+	 * Same base linkTo uses: the servlet mapping of the current request, computed once per request,
+	 * or nothing outside of a request.
+	 */
+	public String base() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return "";
+		}
+		String base = (String) attributes.getAttribute(BASE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (base == null) {
+			base = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+			attributes.setAttribute(BASE_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+		}
+		return base;
+	}
+
+	private static String[] split(Link link) {
+		String href = link.getHref();
+		int index = href.lastIndexOf(ID_PLACEHOLDER);
+		return new String[] {href.substring(0, index), href.substring(index + ID_PLACEHOLDER.length())};
+	}
+}
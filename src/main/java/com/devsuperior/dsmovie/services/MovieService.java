@@ -1,48 +1,167 @@
 package com.devsuperior.dsmovie.services;
 
-import com.devsuperior.dsmovie.controllers.MovieController;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devsuperior.dsmovie.dto.CursorPageDTO;
+import com.devsuperior.dsmovie.dto.MovieBatchDTO;
 import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
 import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.projections.MovieSummaryProjection;
 import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.services.exceptions.BadRequestException;
 import com.devsuperior.dsmovie.services.exceptions.DatabaseException;
 import com.devsuperior.dsmovie.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dsmovie.utils.KeysetCursor;
+import com.devsuperior.dsmovie.utils.TitleNormalizer;
 
 import jakarta.persistence.EntityNotFoundException;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Service
 public class MovieService {
 
+	private static final LinkRelation GET_MOVIE = LinkRelation.of("Get movie by ID");
+	private static final LinkRelation ALL_MOVIES = LinkRelation.of("All movies");
+	private static final LinkRelation UPDATE_MOVIE = LinkRelation.of("Update movie");
+	private static final LinkRelation DELETE_MOVIE = LinkRelation.of("Delete movie");
+
+	private static final int BATCH_MAX_IDS = 1000;
+	private static final int BATCH_CHUNK_SIZE = 500;
+
+	/**
+	 * Keyset sort keys. Positions cannot carry nulls, so only NOT NULL columns are allowed.
+	 */
+	private static final Map<String, Class<?>> KEYSET_PROPERTIES = Map.of(
+			"id", Long.class, "title", String.class, "score", Double.class, "count", Integer.class);
+
 	@Autowired
 	private MovieRepository repository;
 
+	@Autowired
+	private MovieTitleIndex titleIndex;
+
+	@Autowired
+	private MovieTotalCache totalCache;
+
+	@Autowired
+	private MovieLinkFactory links;
+
+	@Autowired
+	private MovieCache movieCache;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
+	/**
+	 * Returns a Page when withTotal is set, otherwise a Slice. The total is exact unless
+	 * approximateTotal is set, in which case the database path may serve it from MovieTotalCache.
+	 * Movies are read as MovieSummaryDTO projections.
+	 */
+	@Transactional(readOnly = true)
+	public Slice<MovieDTO> findAll(String title, boolean withTotal, boolean approximateTotal, Pageable pageable) {
+		return search(title, withTotal, approximateTotal, pageable).map(x -> new MovieDTO(x)
+				.add(links.findAll(IanaLinkRelations.SELF))
+				.add(links.findById(x.getId(), GET_MOVIE)));
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<MovieSummaryDTO> findAllSummaries(String title, boolean withTotal, boolean approximateTotal, Pageable pageable) {
+		return search(title, withTotal, approximateTotal, pageable);
+	}
+
+	/**
+	 * Keyset mode of findAll: returns the movies after the cursor (the first ones when it is empty)
+	 * and the cursor of the next slice, without counting the matches.
+	 */
 	@Transactional(readOnly = true)
-	public Page<MovieDTO> findAll(String title, Pageable pageable) {
-		Page<MovieEntity> result = repository.searchByTitle(title, pageable);
-		return result.map(x -> new MovieDTO(x)
-				.add(linkTo(methodOn(MovieController.class).findAll(null, null)).withSelfRel())
-				.add(linkTo(methodOn(MovieController.class).findById(x.getId())).withRel("Get movie by ID")));
+	public CursorPageDTO<MovieDTO> findAllAfter(String title, String after, Pageable pageable) {
+		return scroll(title, after, pageable, x -> new MovieDTO(x)
+				.add(links.findAll(IanaLinkRelations.SELF))
+				.add(links.findById(x.getId(), GET_MOVIE)));
 	}
 
 	@Transactional(readOnly = true)
+	public CursorPageDTO<MovieSummaryDTO> findAllSummariesAfter(String title, String after, Pageable pageable) {
+		return scroll(title, after, pageable, Function.identity());
+	}
+
+	/**
+	 * Served from MovieCache; no transaction is opened unless the movie has to be loaded.
+	 */
 	public MovieDTO findById(Long id) {
-		MovieEntity result = repository.findById(id)
+		return toDetail(findSummaryById(id));
+	}
+
+	public MovieSummaryDTO findSummaryById(Long id) {
+		return movieCache.get(id, repository::searchSummaryById)
 				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
-		return new MovieDTO(result)
-				.add(linkTo(methodOn(MovieController.class).findById(id)).withSelfRel())
-				.add(linkTo(methodOn(MovieController.class).findAll(null, null)).withRel("All movies"))
-				.add(linkTo(methodOn(MovieController.class).update(id, null)).withRel("Update movie"))
-				.add(linkTo(methodOn(MovieController.class).delete(id)).withRel("Delete movie"));
+	}
+
+	/**
+	 * Movies of the ids in the requested order, duplicates once, with the ids not found. Cached
+	 * movies are served from MovieCache and the others loaded with IN queries of at most
+	 * BATCH_CHUNK_SIZE ids.
+	 */
+	public MovieBatchDTO findAllById(List<Long> ids) {
+		Set<Long> requested = new LinkedHashSet<>(ids);
+		requested.remove(null);
+		if (requested.size() > BATCH_MAX_IDS) {
+			throw new BadRequestException("Máximo de " + BATCH_MAX_IDS + " ids por requisição");
+		}
+		Map<Long, MovieSummaryDTO> found = movieCache.getAll(requested, this::findAllByIdChunked);
+
+		List<MovieDTO> content = new ArrayList<>(found.size());
+		List<Long> missing = new ArrayList<>();
+		for (Long id : requested) {
+			MovieSummaryDTO movie = found.get(id);
+			if (movie == null) {
+				missing.add(id);
+			}
+			else {
+				content.add(new MovieDTO(movie)
+						.add(links.findById(id, IanaLinkRelations.SELF))
+						.add(links.findAll(ALL_MOVIES)));
+			}
+		}
+		return new MovieBatchDTO(content, missing);
+	}
+
+	/**
+	 * Detail representation of a movie snapshot: the movie with its self, listing, update and
+	 * delete links.
+	 */
+	public MovieDTO toDetail(MovieSummaryDTO movie) {
+		Long id = movie.getId();
+		return new MovieDTO(movie)
+				.add(links.findById(id, IanaLinkRelations.SELF))
+				.add(links.findAll(ALL_MOVIES))
+				.add(links.update(id, UPDATE_MOVIE))
+				.add(links.delete(id, DELETE_MOVIE));
 	}
 
 	@Transactional
@@ -50,11 +169,14 @@ public class MovieService {
 		MovieEntity entity = new MovieEntity();
 		copyDtoToEntity(dto, entity);
 		entity = repository.save(entity);
+		titleIndex.put(entity.getId(), entity.getTitle());
+		totalCache.invalidate();
+		catalogVersion.changed();
 		return new MovieDTO(entity)
-				.add(linkTo(methodOn(MovieController.class).findById(entity.getId())).withSelfRel())
-				.add(linkTo(methodOn(MovieController.class).findAll(null, null)).withRel("All movies"))
-				.add(linkTo(methodOn(MovieController.class).update(entity.getId(), null)).withRel("Update movie"))
-				.add(linkTo(methodOn(MovieController.class).delete(entity.getId())).withRel("Delete movie"));
+				.add(links.findById(entity.getId(), IanaLinkRelations.SELF))
+				.add(links.findAll(ALL_MOVIES))
+				.add(links.update(entity.getId(), UPDATE_MOVIE))
+				.add(links.delete(entity.getId(), DELETE_MOVIE));
 	}
 
 	@Transactional
@@ -63,10 +185,14 @@ public class MovieService {
 			MovieEntity entity = repository.getReferenceById(id);
 			copyDtoToEntity(dto, entity);
 			entity = repository.save(entity);
+			titleIndex.put(entity.getId(), entity.getTitle());
+			totalCache.invalidate();
+			movieCache.invalidate(entity.getId());
+			catalogVersion.changed();
 			return new MovieDTO(entity)
-					.add(linkTo(methodOn(MovieController.class).findById(entity.getId())).withSelfRel())
-					.add(linkTo(methodOn(MovieController.class).findAll(null, null)).withRel("All movies"))
-					.add(linkTo(methodOn(MovieController.class).delete(entity.getId())).withRel("Delete movie"));
+					.add(links.findById(entity.getId(), IanaLinkRelations.SELF))
+					.add(links.findAll(ALL_MOVIES))
+					.add(links.delete(entity.getId(), DELETE_MOVIE));
 
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Recurso não encontrado");
@@ -78,15 +204,103 @@ public class MovieService {
 			throw new ResourceNotFoundException("Recurso não encontrado");
 		try {
 			repository.deleteById(id);
+			titleIndex.remove(id);
+			totalCache.invalidate();
+			movieCache.invalidate(id);
+			catalogVersion.changed();
 		} catch (DataIntegrityViolationException e) {
 			throw new DatabaseException("Falha de integridade referencial");
 		}
 	}
 
+	private Slice<MovieSummaryDTO> search(String title, boolean withTotal, boolean approximateTotal, Pageable pageable) {
+		String term = TitleNormalizer.normalize(title);
+		Slice<MovieSummaryDTO> result = searchIndexed(term, pageable);
+		if (result == null) {
+			result = repository.searchByTitle(term, pageable);
+			if (withTotal) {
+				long total = approximateTotal ? totalCache.get(term, repository::countByTitle) : repository.countByTitle(term);
+				result = new PageImpl<>(result.getContent(), pageable, total);
+			}
+		}
+		else if (!withTotal) {
+			result = new SliceImpl<>(result.getContent(), pageable, result.hasNext());
+		}
+		return result;
+	}
+
+	private List<MovieSummaryDTO> findAllByIdChunked(Collection<Long> ids) {
+		List<Long> list = List.copyOf(ids);
+		List<MovieSummaryDTO> result = new ArrayList<>(list.size());
+		for (int from = 0; from < list.size(); from += BATCH_CHUNK_SIZE) {
+			result.addAll(repository.searchSummariesByIds(list.subList(from, Math.min(from + BATCH_CHUNK_SIZE, list.size()))));
+		}
+		return result;
+	}
+
+	private <T> CursorPageDTO<T> scroll(String title, String after, Pageable pageable, Function<MovieSummaryDTO, T> mapper) {
+		Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+		Set<String> keys = new LinkedHashSet<>();
+		for (Sort.Order order : sort) {
+			if (!KEYSET_PROPERTIES.containsKey(order.getProperty())) {
+				throw new BadRequestException("Ordenação não suportada: " + order.getProperty());
+			}
+			keys.add(order.getProperty());
+		}
+		keys.add("id");
+
+		Window<MovieSummaryProjection> window = repository.findByNormalizedTitleStartingWith(TitleNormalizer.normalize(title),
+				position(after, keys), sort, Limit.of(pageable.getPageSize()));
+
+		String next = null;
+		if (window.hasNext() && !window.isEmpty()) {
+			KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+			next = KeysetCursor.encode(last.getKeys());
+		}
+		return new CursorPageDTO<>(window.map(x -> mapper.apply(new MovieSummaryDTO(x))).getContent(), window.hasNext(), next);
+	}
+
+	/**
+	 * Answers the search from the title index when it can, loading only the movies of the page.
+	 */
+	private Page<MovieSummaryDTO> searchIndexed(String title, Pageable pageable) {
+		Page<Long> ids = titleIndex.search(title, pageable);
+		if (ids == null) {
+			return null;
+		}
+		Map<Long, MovieSummaryDTO> movies = repository.searchSummariesByIds(ids.getContent()).stream()
+				.collect(Collectors.toMap(MovieSummaryDTO::getId, Function.identity()));
+		List<MovieSummaryDTO> content = ids.getContent().stream()
+				.map(movies::get)
+				.filter(Objects::nonNull)
+				.toList();
+		return new PageImpl<>(content, pageable, ids.getTotalElements());
+	}
+
+	private static ScrollPosition position(String after, Set<String> keys) {
+		if (after == null || after.isBlank()) {
+			return ScrollPosition.keyset();
+		}
+		Map<String, Object> values;
+		try {
+			values = KeysetCursor.decode(after, KEYSET_PROPERTIES);
+		}
+		catch (IllegalArgumentException e) {
+			throw new BadRequestException("Cursor inválido");
+		}
+		if (!values.keySet().equals(keys)) {
+			throw new BadRequestException("Cursor não corresponde à ordenação solicitada");
+		}
+		return ScrollPosition.forward(values);
+	}
+
 	private void copyDtoToEntity(MovieDTO dto, MovieEntity entity) {
 		entity.setTitle(dto.getTitle());
-		entity.setScore(dto.getScore());
-		entity.setCount(dto.getCount());
+		double score = dto.getScore() == null ? 0.0 : dto.getScore();
+		int count = dto.getCount() == null ? 0 : dto.getCount();
+		entity.setScore(score);
+		entity.setCount(count);
+		entity.setScoreSum(score * count);
 		entity.setImage(dto.getImage());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,311 @@
+package com.devsuperior.dsmovie.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dsmovie.projections.MovieTitleProjection;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.utils.TitleNormalizer;
+import com.devsuperior.dsmovie.utils.TransactionUtil;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory trigram index over normalized movie titles answering the same prefix search as
+ * {@link MovieRepository#searchByTitle}. Matches are returned in id order; the grams of the term
+ * narrow the candidates, which are then checked for the prefix.
+ * <p>
+ * Local writes go through put and remove; the whole index is rebuilt from the database every
+ * movie.title-index.refresh-interval, so titles written elsewhere (other nodes, SQL, repository
+ * calls bypassing MovieService) show up within that interval. Local writes that commit while a
+ * rebuild reads the table are replayed over the new snapshot.
+ * <p>
+ * Terms shorter than a trigram, including the empty filter, walk the titles in id order only
+ * until the page is filled. Totals that need a full walk are cached per term until the next
+ * write or rebuild.
+ */
+@Component
+public class MovieTitleIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(MovieTitleIndex.class);
+
+	private static final int GRAM_LENGTH = 3;
+	private static final int MAX_CACHED_TOTALS = 1000;
+
+	@Value("${movie.title-index.refresh-interval}")
+	private Duration refreshInterval;
+
+	@Autowired
+	private MovieRepository repository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Long> totals = new ConcurrentHashMap<>();
+	private Titles titles = new Titles();
+	// local writes seen while a rebuild reads the table, null values are removals
+	private Map<Long, String> changes;
+	private volatile boolean warm;
+	private ScheduledExecutorService scheduler;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		build();
+		if (refreshInterval.isZero()) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "movie-title-index");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = refreshInterval.toMillis();
+		scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * Replaces the index with a snapshot of the table, keeping local writes made meanwhile.
+	 */
+	public synchronized void build() {
+		lock.writeLock().lock();
+		try {
+			changes = new HashMap<>();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+
+		Titles rebuilt = new Titles();
+		boolean loaded = false;
+		try {
+			for (MovieTitleProjection movie : repository.searchAllTitles()) {
+				rebuilt.put(movie.getId(), movie.getTitle());
+			}
+			loaded = true;
+		}
+		finally {
+			lock.writeLock().lock();
+			try {
+				// a failed read keeps the current index
+				if (loaded) {
+					changes.forEach(rebuilt::apply);
+					titles = rebuilt;
+					totals.clear();
+					warm = true;
+				}
+				changes = null;
+			}
+			finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	public boolean isWarm() {
+		return warm;
+	}
+
+	/**
+	 * Returns the page of matching ids, or null when the index cannot answer the query
+	 * (not built yet, or sorted by anything other than ascending id).
+	 */
+	public Page<Long> search(String title, Pageable pageable) {
+		if (!warm || !isSortedById(pageable.getSort())) {
+			return null;
+		}
+		String term = TitleNormalizer.normalize(title);
+		long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+		long limit = pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE;
+
+		lock.readLock().lock();
+		try {
+			Titles current = titles;
+			List<Long> ids = new ArrayList<>();
+			long position = 0;
+			for (Long id : current.candidates(term)) {
+				if (ids.size() >= limit) {
+					break;
+				}
+				if (current.matches(id, term)) {
+					if (position >= offset) {
+						ids.add(id);
+					}
+					position++;
+				}
+			}
+			long total = ids.size() < limit ? position : total(current, term);
+			return new PageImpl<>(ids, pageable, total);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds or replaces a title, after the current transaction commits when there is one.
+	 */
+	public void put(Long id, String title) {
+		TransactionUtil.afterCommit(() -> write(id, title));
+	}
+
+	public void remove(Long id) {
+		TransactionUtil.afterCommit(() -> write(id, null));
+	}
+
+	private void refresh() {
+		try {
+			build();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Could not rebuild the movie title index", e);
+		}
+	}
+
+	private void write(Long id, String title) {
+		lock.writeLock().lock();
+		try {
+			titles.apply(id, title);
+			if (changes != null) {
+				changes.put(id, title);
+			}
+			totals.clear();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Called under the read lock; the cache is cleared under the write lock, so a total stored
+	 * here always belongs to the current titles.
+	 */
+	private long total(Titles current, String term) {
+		Long total = totals.get(term);
+		if (total == null) {
+			total = current.count(term);
+			if (totals.size() >= MAX_CACHED_TOTALS) {
+				totals.clear();
+			}
+			totals.put(term, total);
+		}
+		return total;
+	}
+
+	private static boolean isSortedById(Sort sort) {
+		if (sort.isUnsorted()) {
+			return true;
+		}
+		List<Sort.Order> orders = sort.toList();
+		return orders.size() == 1 && orders.get(0).getProperty().equals("id") && orders.get(0).isAscending();
+	}
+
+	private static final class Titles {
+
+		private final TreeMap<Long, String> titles = new TreeMap<>();
+		private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+
+		void apply(Long id, String title) {
+			if (title == null) {
+				remove(id);
+			}
+			else {
+				put(id, title);
+			}
+		}
+
+		void put(Long id, String title) {
+			remove(id);
+			String normalized = TitleNormalizer.normalize(title);
+			titles.put(id, normalized);
+			for (String gram : grams(normalized)) {
+				postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(id);
+			}
+		}
+
+		void remove(Long id) {
+			String previous = titles.remove(id);
+			if (previous == null) {
+				return;
+			}
+			for (String gram : grams(previous)) {
+				NavigableSet<Long> posting = postings.get(gram);
+				posting.remove(id);
+				if (posting.isEmpty()) {
+					postings.remove(gram);
+				}
+			}
+		}
+
+		boolean matches(Long id, String term) {
+			return titles.get(id).startsWith(term);
+		}
+
+		long count(String term) {
+			if (term.isEmpty()) {
+				return titles.size();
+			}
+			long count = 0;
+			for (Long id : candidates(term)) {
+				if (matches(id, term)) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		Iterable<Long> candidates(String term) {
+			if (term.length() < GRAM_LENGTH) {
+				return titles.navigableKeySet();
+			}
+			NavigableSet<Long> smallest = null;
+			for (String gram : grams(term)) {
+				NavigableSet<Long> posting = postings.get(gram);
+				if (posting == null) {
+					return Set.of();
+				}
+				if (smallest == null || posting.size() < smallest.size()) {
+					smallest = posting;
+				}
+			}
+			return smallest;
+		}
+
+		private static Set<String> grams(String text) {
+			Set<String> grams = new HashSet<>();
+			for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+				grams.add(text.substring(i, i + GRAM_LENGTH));
+			}
+			return grams;
+		}
+	}
+}
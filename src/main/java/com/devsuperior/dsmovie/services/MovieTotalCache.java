@@ -0,0 +1,50 @@
+package com.devsuperior.dsmovie.services;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dsmovie.utils.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Short-lived totals of the movie listing per normalized title filter, served to clients that
+ * pass approximateTotal=true so they do not pay a full COUNT on every request. Totals may lag
+ * writes made on other nodes by up to the TTL.
+ */
+@Component
+public class MovieTotalCache {
+
+	@Value("${movie.total-cache.ttl}")
+	private Duration ttl;
+
+	@Value("${movie.total-cache.max-size}")
+	private long maxSize;
+
+	private Cache<String, Long> totals;
+
+	@PostConstruct
+	public void start() {
+		totals = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.build();
+	}
+
+	public long get(String term, ToLongFunction<String> counter) {
+		return totals.get(term, counter::applyAsLong);
+	}
+
+	/**
+	 * Drops every total once the current transaction commits; inserts, deletes and title
+	 * changes can move a movie in or out of any filter.
+	 */
+	public void invalidate() {
+		TransactionUtil.afterCommit(totals::invalidateAll);
+	}
+}
@@ -0,0 +1,44 @@
+package com.devsuperior.dsmovie.services;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dsmovie.projections.MovieTitleProjection;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.utils.TitleNormalizer;
+
+/**
+ * Fills tb_movie.normalized_title for rows written before the column existed or by SQL that
+ * does not set it, so the database search path matches them. Runs once at startup.
+ */
+@Component
+public class NormalizedTitleBackfill {
+
+	private static final Logger logger = LoggerFactory.getLogger(NormalizedTitleBackfill.class);
+
+	@Autowired
+	private MovieRepository repository;
+
+	@Transactional
+	@EventListener(ApplicationReadyEvent.class)
+	public void run() {
+		int updated = 0;
+		List<MovieTitleProjection> movies;
+		while (!(movies = repository.findTop500ByNormalizedTitleIsNull()).isEmpty()) {
+			for (MovieTitleProjection movie : movies) {
+				repository.updateNormalizedTitle(movie.getId(), TitleNormalizer.normalize(movie.getTitle()));
+			}
+			updated += movies.size();
+		}
+		if (updated > 0) {
+			logger.info("Filled normalized_title of {} movies", updated);
+		}
+	}
+}
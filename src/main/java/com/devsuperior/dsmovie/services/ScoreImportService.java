@@ -0,0 +1,98 @@
+package com.devsuperior.dsmovie.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dsmovie.dto.ScoreImportDTO;
+import com.devsuperior.dsmovie.dto.ScoreImportResultDTO;
+import com.devsuperior.dsmovie.repositories.ScoreBatchRepository;
+import com.devsuperior.dsmovie.services.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+
+@Service
+public class ScoreImportService {
+
+	@Value("${score.import.batch-size}")
+	private int batchSize;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ScoreBatchRepository repository;
+
+	@Autowired
+	private MovieCache movieCache;
+
+	@Autowired
+	private CatalogVersion catalogVersion;
+
+	/**
+	 * Streams scores from a JSON array or NDJSON body, writing each batch in its own transaction.
+	 * Mistyped and invalid rows and rows referencing unknown movies or users are counted as
+	 * rejected. A body that stops being valid JSON cannot be read past that point: the rows read
+	 * before it are imported and the import ends with a 400.
+	 */
+	public ScoreImportResultDTO importScores(InputStream body) throws IOException {
+
+		long start = System.nanoTime();
+		long received = 0;
+		long imported = 0;
+		List<ScoreImportDTO> batch = new ArrayList<>(batchSize);
+
+		try (MappingIterator<ScoreImportDTO> rows = objectMapper.readerFor(ScoreImportDTO.class).readValues(body)) {
+			while (rows.hasNextValue()) {
+				received++;
+				ScoreImportDTO row;
+				try {
+					row = rows.nextValue();
+				}
+				catch (JsonMappingException e) {
+					// the iterator skips the rest of the row before reading the next one
+					continue;
+				}
+				if (!validator.validate(row).isEmpty()) {
+					continue;
+				}
+				batch.add(row);
+				if (batch.size() == batchSize) {
+					imported += write(batch);
+					batch = new ArrayList<>(batchSize);
+				}
+			}
+		}
+		catch (JsonProcessingException e) {
+			if (!batch.isEmpty()) {
+				imported += write(batch);
+			}
+			throw new BadRequestException("JSON inválido no registro " + received + ", " + imported + " scores anteriores foram importados");
+		}
+		if (!batch.isEmpty()) {
+			imported += write(batch);
+		}
+
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+		return new ScoreImportResultDTO(received, imported, received - imported, elapsedMillis);
+	}
+
+	private int write(List<ScoreImportDTO> batch) {
+		int written = repository.saveAll(batch);
+		batch.forEach(row -> movieCache.invalidate(row.getMovieId()));
+		catalogVersion.changed();
+		return written;
+	}
+}
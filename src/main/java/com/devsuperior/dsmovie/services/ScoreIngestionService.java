@@ -0,0 +1,251 @@
+package com.devsuperior.dsmovie.services;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.dto.ScoreDTO;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dsmovie.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dsmovie.services.exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for votes. Accepted votes are coalesced per movie and user (the latest
+ * vote wins) and written by a single worker thread through {@link ScoreService#saveScores}.
+ * <p>
+ * Votes are answered before they are written, so some can be lost: a movie's votes are retried
+ * up to {@value #MAX_ATTEMPTS} times, one flush interval apart, and then discarded, as are votes
+ * for a movie deleted meanwhile and whatever is still pending when the process dies. Discarded
+ * votes are logged and counted in score.ingestion.discarded.
+ */
+@Service
+public class ScoreIngestionService implements MeterBinder {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScoreIngestionService.class);
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	@Value("${score.ingestion.async}")
+	private boolean enabled;
+
+	@Value("${score.ingestion.queue-capacity}")
+	private int queueCapacity;
+
+	@Value("${score.ingestion.flush-size}")
+	private int flushSize;
+
+	@Value("${score.ingestion.flush-interval}")
+	private Duration flushInterval;
+
+	@Autowired
+	private ScoreService scoreService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private MovieCache movieCache;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition flushRequested = lock.newCondition();
+	private Map<Long, Map<Long, Double>> pending = new LinkedHashMap<>();
+	private int pendingSize;
+	private boolean running;
+	private Thread worker;
+	private final AtomicLong discarded = new AtomicLong();
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		running = true;
+		worker = new Thread(this::run, "score-ingestion");
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (worker == null) {
+			return;
+		}
+		lock.lock();
+		try {
+			running = false;
+			flushRequested.signal();
+		}
+		finally {
+			lock.unlock();
+		}
+		worker.join();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("score.ingestion.discarded", discarded, AtomicLong::get)
+				.description("Accepted votes that could not be written")
+				.register(registry);
+	}
+
+	public MovieDTO submit(ScoreDTO dto) {
+
+		UserEntity user = userService.authenticatedReference();
+
+		MovieSummaryDTO movie = movieCache.get(dto.getMovieId(), movieRepository::searchSummaryById)
+				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
+
+		enqueue(movie.getId(), user.getId(), dto.getScore());
+
+		return new MovieDTO(movie);
+	}
+
+	private void enqueue(Long movieId, Long userId, Double value) {
+		lock.lock();
+		try {
+			if (!running) {
+				throw new ServiceUnavailableException("Recebimento de votos indisponível");
+			}
+			Map<Long, Double> votes = pending.computeIfAbsent(movieId, id -> new LinkedHashMap<>());
+			if (!votes.containsKey(userId)) {
+				if (pendingSize >= queueCapacity) {
+					throw new TooManyRequestsException("Fila de votos cheia");
+				}
+				pendingSize++;
+			}
+			votes.put(userId, value);
+			if (pendingSize >= flushSize) {
+				flushRequested.signal();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void run() {
+		Map<Long, Map<Long, Double>> batch;
+		while ((batch = takeBatch()) != null) {
+			if (!batch.isEmpty()) {
+				write(batch);
+			}
+		}
+	}
+
+	/**
+	 * Waits for a full batch or the flush interval and hands over everything pending.
+	 * Returns null once stopped and drained.
+	 */
+	private Map<Long, Map<Long, Double>> takeBatch() {
+		lock.lock();
+		try {
+			if (running && pendingSize < flushSize) {
+				flushRequested.await(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			if (!running && pendingSize == 0) {
+				return null;
+			}
+			Map<Long, Map<Long, Double>> batch = pending;
+			pending = new LinkedHashMap<>();
+			pendingSize = 0;
+			return batch;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+			return new LinkedHashMap<>();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes the batch in transactions of roughly flush-size votes; a failing transaction is
+	 * retried movie by movie so one bad movie (e.g. deleted meanwhile) does not drop the rest.
+	 */
+	private void write(Map<Long, Map<Long, Double>> batch) {
+		Map<Long, Map<Long, Double>> chunk = new LinkedHashMap<>();
+		int chunkSize = 0;
+		for (Map.Entry<Long, Map<Long, Double>> movieVotes : batch.entrySet()) {
+			chunk.put(movieVotes.getKey(), movieVotes.getValue());
+			chunkSize += movieVotes.getValue().size();
+			if (chunkSize >= flushSize) {
+				writeChunk(chunk);
+				chunk = new LinkedHashMap<>();
+				chunkSize = 0;
+			}
+		}
+		if (!chunk.isEmpty()) {
+			writeChunk(chunk);
+		}
+	}
+
+	private void writeChunk(Map<Long, Map<Long, Double>> chunk) {
+		try {
+			scoreService.saveScores(chunk);
+		}
+		catch (RuntimeException e) {
+			for (Map.Entry<Long, Map<Long, Double>> movieVotes : chunk.entrySet()) {
+				writeMovie(movieVotes.getKey(), movieVotes.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Retries the movie's votes after transient failures; a deleted movie is not retried.
+	 */
+	private void writeMovie(Long movieId, Map<Long, Double> votes) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				scoreService.saveScores(Map.of(movieId, votes));
+				return;
+			}
+			catch (RuntimeException e) {
+				if (e instanceof ResourceNotFoundException || attempt >= MAX_ATTEMPTS || !pause()) {
+					discarded.addAndGet(votes.size());
+					logger.error("Discarding {} votes for movie {} after {} attempts", votes.size(), movieId, attempt, e);
+					return;
+				}
+				logger.warn("Could not write {} votes for movie {}, retrying", votes.size(), movieId, e);
+			}
+		}
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(flushInterval.toMillis());
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.devsuperior.dsmovie.services;
 
+import java.util.Map;
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,6 +14,7 @@ import com.devsuperior.dsmovie.entities.ScoreEntity;
 import com.devsuperior.dsmovie.entities.UserEntity;
 import com.devsuperior.dsmovie.repositories.MovieRepository;
 import com.devsuperior.dsmovie.repositories.ScoreRepository;
+import com.devsuperior.dsmovie.repositories.UserRepository;
 import com.devsuperior.dsmovie.services.exceptions.ResourceNotFoundException;
 
 @Service
@@ -25,33 +29,76 @@ public class ScoreService {
 	@Autowired
 	private ScoreRepository scoreRepository;
 	
+	@Autowired
+	private UserRepository userRepository;
+	
+	@Autowired
+	private MovieCache movieCache;
+	
+	@Autowired
+	private CatalogVersion catalogVersion;
+	
 	@Transactional
 	public MovieDTO saveScore(ScoreDTO dto) {
 		
-		UserEntity user = userService.authenticated();
+		UserEntity user = userService.authenticatedReference();
 		
-		MovieEntity movie = movieRepository.findById(dto.getMovieId())
-				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));		
+		Long movieId = movieCache.get(dto.getMovieId(), movieRepository::searchSummaryById)
+				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado")).getId();
+		
+		Optional<Double> previous = scoreRepository.searchValueByMovieAndUser(movieId, user.getId());
 		
 		ScoreEntity score = new ScoreEntity();
-		score.setMovie(movie);
+		score.setMovie(movieRepository.getReferenceById(movieId));
 		score.setUser(user);
 		score.setValue(dto.getScore());
 		
-		score = scoreRepository.saveAndFlush(score);
+		scoreRepository.saveAndFlush(score);
 		
-		double sum = 0.0;
-		for (ScoreEntity s : movie.getScores()) {
-			sum = sum + s.getValue();
-		}
-			
-		double avg = sum / movie.getScores().size();
+		double delta = previous.isPresent() ? dto.getScore() - previous.get() : dto.getScore();
+		int increment = previous.isPresent() ? 0 : 1;
 		
-		movie.setScore(avg);
-		movie.setCount(movie.getScores().size());
+		if (movieRepository.applyScore(movieId, delta, increment) == 0) {
+			throw new ResourceNotFoundException("Recurso não encontrado");
+		}
+		movieCache.invalidate(movieId);
+		catalogVersion.changed();
 		
-		movie = movieRepository.save(movie);
+		MovieEntity movie = movieRepository.findById(movieId)
+				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
 		
 		return new MovieDTO(movie);
 	}
+	
+	/**
+	 * Writes votes grouped by movie id and then by user id, updating each movie's aggregate once.
+	 */
+	@Transactional
+	public void saveScores(Map<Long, Map<Long, Double>> votes) {
+		
+		for (Map.Entry<Long, Map<Long, Double>> movieVotes : votes.entrySet()) {
+			Long movieId = movieVotes.getKey();
+			double delta = 0.0;
+			int increment = 0;
+			
+			for (Map.Entry<Long, Double> vote : movieVotes.getValue().entrySet()) {
+				Optional<Double> previous = scoreRepository.searchValueByMovieAndUser(movieId, vote.getKey());
+				
+				ScoreEntity score = new ScoreEntity();
+				score.setMovie(movieRepository.getReferenceById(movieId));
+				score.setUser(userRepository.getReferenceById(vote.getKey()));
+				score.setValue(vote.getValue());
+				scoreRepository.save(score);
+				
+				delta += previous.isPresent() ? vote.getValue() - previous.get() : vote.getValue();
+				increment += previous.isPresent() ? 0 : 1;
+			}
+			
+			if (movieRepository.applyScore(movieId, delta, increment) == 0) {
+				throw new ResourceNotFoundException("Recurso não encontrado");
+			}
+			movieCache.invalidate(movieId);
+		}
+		catalogVersion.changed();
+	}
 }
@@ -0,0 +1,73 @@
+package com.devsuperior.dsmovie.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dsmovie.projections.UserDetailsProjection;
+import com.devsuperior.dsmovie.utils.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * User and role rows read at login, per username, so repeated logins skip the user/role join.
+ * Unknown usernames are not cached. Whoever changes a user's password or roles must invalidate
+ * it; changes made on other nodes show up after the TTL.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+	@Value("${security.user-cache.ttl}")
+	private Duration ttl;
+
+	@Value("${security.user-cache.max-size}")
+	private long maxSize;
+
+	private Cache<String, List<UserDetailsProjection>> details;
+
+	@PostConstruct
+	public void start() {
+		details = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Cached rows of the user, loaded with the loader on a miss; an empty result is returned
+	 * but not kept.
+	 */
+	public List<UserDetailsProjection> get(String username, Function<String, List<UserDetailsProjection>> loader) {
+		List<UserDetailsProjection> result = details.get(username, key -> {
+			List<UserDetailsProjection> rows = loader.apply(key);
+			return rows.isEmpty() ? null : List.copyOf(rows);
+		});
+		return result == null ? List.of() : result;
+	}
+
+	/**
+	 * Drops the user once the current transaction commits, so a rolled back change never evicts
+	 * and a login never caches the uncommitted rows after the eviction.
+	 */
+	public void invalidate(String username) {
+		TransactionUtil.afterCommit(() -> details.invalidate(username));
+	}
+
+	public void invalidateAll() {
+		TransactionUtil.afterCommit(details::invalidateAll);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, details, "user.details");
+	}
+}
@@ -22,6 +22,9 @@ public class UserService implements UserDetailsService {
 	
 	@Autowired
 	private CustomUserUtil userUtil;
+	
+	@Autowired
+	private UserDetailsCache userDetailsCache;
 
 	public UserEntity authenticated() {
 		try {
@@ -33,15 +36,36 @@ public class UserService implements UserDetailsService {
 		}
 	}
 	
+	/**
+	 * Reference to the authenticated user built from the user_id claim without querying, for
+	 * callers that only need it as an association. Tokens issued before the claim existed fall
+	 * back to the username lookup of authenticated().
+	 */
+	public UserEntity authenticatedReference() {
+		Long userId = userUtil.getLoggedUserId();
+		if (userId == null) {
+			return authenticated();
+		}
+		return repository.getReferenceById(userId);
+	}
+	
+	/**
+	 * Must be called after changing the user's password or roles, so the next login reads them.
+	 */
+	public void evictUserDetails(String username) {
+		userDetailsCache.invalidate(username);
+	}
+	
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		
-		List<UserDetailsProjection> result = repository.searchUserAndRolesByUsername(username);
+		List<UserDetailsProjection> result = userDetailsCache.get(username, repository::searchUserAndRolesByUsername);
 		if (result.size() == 0) {
 			throw new UsernameNotFoundException("Email not found");
 		}
 		
 		UserEntity user = new UserEntity();
+		user.setId(result.get(0).getUserId());
 		user.setUsername(result.get(0).getUsername());
 		user.setPassword(result.get(0).getPassword());
 		for (UserDetailsProjection projection : result) {
@@ -0,0 +1,9 @@
+package com.devsuperior.dsmovie.services.exceptions;
+
+@SuppressWarnings("serial")
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String msg) {
+        super(msg);
+    }
+}
@@ -13,4 +13,11 @@ public class CustomUserUtil {
 		Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
 		return jwtPrincipal.getClaim("username");
 	}
+
+	public Long getLoggedUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
+		Object userId = jwtPrincipal.getClaim("user_id");
+		return userId instanceof Number number ? number.longValue() : null;
+	}
 }
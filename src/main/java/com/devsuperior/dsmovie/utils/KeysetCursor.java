@@ -0,0 +1,64 @@
+package com.devsuperior.dsmovie.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes keyset positions (sort key values plus id) as opaque URL-safe cursors and back.
+ */
+public final class KeysetCursor {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final TypeReference<LinkedHashMap<String, Object>> KEYS = new TypeReference<>() {};
+
+	private KeysetCursor() {
+	}
+
+	/**
+	 * @throws IllegalArgumentException when a key is null, since decode would reject the cursor
+	 */
+	public static String encode(Map<String, ?> keys) {
+		if (keys.values().stream().anyMatch(Objects::isNull)) {
+			throw new IllegalArgumentException("Cursor keys cannot be null");
+		}
+		try {
+			byte[] json = MAPPER.writeValueAsBytes(keys);
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Cursor keys are not serializable", e);
+		}
+	}
+
+	/**
+	 * Decodes a cursor, converting every key to the type declared for it.
+	 *
+	 * @throws IllegalArgumentException when the cursor is malformed or carries an undeclared key
+	 */
+	public static Map<String, Object> decode(String cursor, Map<String, Class<?>> types) {
+		Map<String, Object> keys;
+		try {
+			byte[] json = Base64.getUrlDecoder().decode(cursor);
+			keys = MAPPER.readValue(new String(json, StandardCharsets.UTF_8), KEYS);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Malformed cursor", e);
+		}
+		Map<String, Object> typed = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> key : keys.entrySet()) {
+			Class<?> type = types.get(key.getKey());
+			if (type == null || key.getValue() == null) {
+				throw new IllegalArgumentException("Unexpected cursor key " + key.getKey());
+			}
+			typed.put(key.getKey(), MAPPER.convertValue(key.getValue(), type));
+		}
+		return typed;
+	}
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dsmovie.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Two-decimal score rounding with the semantics of {@code Double.valueOf(new DecimalFormat("#.##").format(x))}:
+ * the exact binary value is rounded HALF_EVEN and the nearest double to the result is returned.
+ * Stateless, so it is safe to share, and it does not allocate for scores in the usual range.
+ */
+public final class ScoreUtil {
+
+	/** Above this magnitude x * 100 has no fractional bits left to round. */
+	private static final double FAST_PATH_LIMIT = 0x1p52 / 100;
+
+	private ScoreUtil() {
+	}
+
+	public static double round(double value) {
+		if (!Double.isFinite(value)) {
+			return value;
+		}
+		if (Math.abs(value) >= FAST_PATH_LIMIT) {
+			return new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+		}
+		double scaled = value * 100;
+		// scaled + error is exactly value * 100
+		double error = Math.fma(value, 100, -scaled);
+		double floor = Math.floor(scaled);
+		// zero only when the fraction is exactly one half; otherwise it is at least ulp(scaled)
+		// away from it, more than |error|, so its sign alone decides
+		double half = (scaled - floor) - 0.5;
+		double rounded;
+		if (half > 0 || (half == 0 && error > 0)) {
+			rounded = floor + 1;
+		}
+		else if (half < 0 || error < 0) {
+			rounded = floor;
+		}
+		else {
+			rounded = floor % 2 == 0 ? floor : floor + 1;
+		}
+		// n / 100 is correctly rounded, as is parsing its decimal representation
+		return Math.copySign(rounded / 100, value);
+	}
+}
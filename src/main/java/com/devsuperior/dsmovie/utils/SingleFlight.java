@@ -0,0 +1,62 @@
+package com.devsuperior.dsmovie.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs at most one load per key at a time: callers arriving while a load for their key is in
+ * flight wait for it and get its result, or its exception, instead of loading again. The load
+ * runs on the first caller's thread and outside any map lock.
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder coalesced = new LongAdder();
+
+	public V execute(K key, Function<K, V> loader) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+		if (existing != null) {
+			coalesced.increment();
+			return join(existing);
+		}
+		try {
+			V value = loader.apply(key);
+			call.complete(value);
+			return value;
+		}
+		catch (RuntimeException | Error e) {
+			call.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			inFlight.remove(key, call);
+		}
+	}
+
+	/**
+	 * Number of calls that were served by another caller's load.
+	 */
+	public long coalesced() {
+		return coalesced.sum();
+	}
+
+	private static <V> V join(CompletableFuture<V> call) {
+		try {
+			return call.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
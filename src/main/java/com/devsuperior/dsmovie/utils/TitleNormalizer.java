@@ -0,0 +1,25 @@
+package com.devsuperior.dsmovie.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds titles and search terms to the form stored in tb_movie.normalized_title:
+ * Unicode compatibility-decomposed, accents stripped and lowercased.
+ */
+public final class TitleNormalizer {
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private TitleNormalizer() {
+	}
+
+	public static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+		return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dsmovie.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtil {
+
+	private TransactionUtil() {
+	}
+
+	/**
+	 * Runs the action after the current transaction commits, or right away when there is none,
+	 * so in-memory structures never observe writes that are rolled back.
+	 */
+	public static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,77 @@
+package com.devsuperior.dsmovie.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class CachingJwtDecoderTests {
+
+	@Mock
+	private JwtDecoder delegate;
+
+	private AtomicLong nanos;
+	private CachingJwtDecoder decoder;
+	private String token, invalidToken;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		nanos = new AtomicLong();
+		decoder = new CachingJwtDecoder(delegate, 100, nanos::get);
+		token = "header.payload.signature";
+		invalidToken = "header.payload.forged";
+
+		Instant now = Instant.now();
+		Jwt jwt = Jwt.withTokenValue(token)
+				.header("alg", "RS256")
+				.claim("username", "maria@gmail.com")
+				.issuedAt(now)
+				.expiresAt(now.plusSeconds(60))
+				.build();
+		Mockito.when(delegate.decode(token)).thenReturn(jwt);
+		Mockito.when(delegate.decode(invalidToken)).thenThrow(new BadJwtException("Invalid signature"));
+	}
+
+	@Test
+	public void decodeShouldVerifyOnceWhenTokenIsReused() {
+		for (int i = 0; i < 3; i++) {
+			Assertions.assertEquals("maria@gmail.com", decoder.decode(token).getClaim("username"));
+		}
+
+		Mockito.verify(delegate, times(1)).decode(token);
+	}
+
+	@Test
+	public void decodeShouldVerifyAgainWhenTokenExpired() {
+		decoder.decode(token);
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+		decoder.decode(token);
+
+		Mockito.verify(delegate, times(2)).decode(token);
+	}
+
+	@Test
+	public void decodeShouldNotCacheRejectedTokens() {
+		for (int i = 0; i < 2; i++) {
+			Assertions.assertThrows(BadJwtException.class, () -> {
+				decoder.decode(invalidToken);
+			});
+		}
+
+		Mockito.verify(delegate, times(2)).decode(invalidToken);
+	}
+}
@@ -0,0 +1,85 @@
+package com.devsuperior.dsmovie.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExpiringOAuth2AuthorizationServiceTests {
+
+	private static final AuthorizationGrantType PASSWORD = new AuthorizationGrantType("password");
+
+	private AtomicLong nanos;
+	private ExpiringOAuth2AuthorizationService service;
+	private RegisteredClient client;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		nanos = new AtomicLong();
+		service = new ExpiringOAuth2AuthorizationService(1000, Duration.ofHours(1), nanos::get);
+		client = RegisteredClient.withId("myclientid")
+				.clientId("myclientid")
+				.authorizationGrantType(PASSWORD)
+				.build();
+	}
+
+	@Test
+	public void findByTokenShouldReturnAuthorizationWhenTokenTypeMatches() {
+		service.save(authorization(1, Duration.ofMinutes(1)));
+
+		Assertions.assertEquals("auth-1", service.findByToken("access-1", OAuth2TokenType.ACCESS_TOKEN).getId());
+		Assertions.assertEquals("auth-1", service.findByToken("access-1", null).getId());
+		Assertions.assertNull(service.findByToken("access-1", OAuth2TokenType.REFRESH_TOKEN));
+	}
+
+	@Test
+	public void findByIdShouldReturnNullWhenLastTokenExpired() {
+		service.save(authorization(1, Duration.ofMinutes(1)));
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+		Assertions.assertNull(service.findById("auth-1"));
+		Assertions.assertNull(service.findByToken("access-1", null));
+	}
+
+	@Test
+	public void removeShouldForgetAuthorizationAndItsTokens() {
+		OAuth2Authorization authorization = authorization(1, Duration.ofMinutes(1));
+		service.save(authorization);
+
+		service.remove(authorization);
+
+		Assertions.assertNull(service.findById("auth-1"));
+		Assertions.assertNull(service.findByToken("access-1", null));
+	}
+
+	@Test
+	public void saveShouldKeepStoreBoundedWhenLoginsExceedMaxSize() {
+		for (int i = 0; i < 200_000; i++) {
+			service.save(authorization(i, Duration.ofDays(1)));
+		}
+
+		Assertions.assertTrue(service.size() <= 1000);
+		Assertions.assertNotNull(service.findByToken("access-199999", OAuth2TokenType.ACCESS_TOKEN));
+	}
+
+	private OAuth2Authorization authorization(int i, Duration ttl) {
+		Instant now = Instant.now();
+		OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-" + i, now, now.plus(ttl));
+		return OAuth2Authorization.withRegisteredClient(client)
+				.id("auth-" + i)
+				.principalName("myclientid")
+				.authorizationGrantType(PASSWORD)
+				.accessToken(token)
+				.build();
+	}
+}
@@ -0,0 +1,100 @@
+package com.devsuperior.dsmovie.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs the jdbc store against the H2 schema of the shared test context instead of switching
+ * security.authorization-store.type, which would start a second context on the same database.
+ */
+@SpringBootTest
+public class PurgingJdbcOAuth2AuthorizationServiceTests {
+
+	private static final AuthorizationGrantType PASSWORD = new AuthorizationGrantType("password");
+
+	@Value("${security.client-id}")
+	private String clientId;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RegisteredClientRepository registeredClientRepository;
+
+	private PurgingJdbcOAuth2AuthorizationService service;
+	private RegisteredClient client;
+	private String suffix;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// a zero interval purges on every save
+		service = new PurgingJdbcOAuth2AuthorizationService(jdbcTemplate, registeredClientRepository, Duration.ZERO);
+		client = registeredClientRepository.findByClientId(clientId);
+		suffix = UUID.randomUUID().toString();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		jdbcTemplate.update("DELETE FROM oauth2_authorization WHERE id LIKE ?", "%-" + suffix);
+	}
+
+	@Test
+	public void findShouldReturnSavedAuthorizationWithItsPrincipal() {
+		service.save(authorization("live", Duration.ofMinutes(30)));
+
+		OAuth2Authorization found = service.findByToken("access-live-" + suffix, OAuth2TokenType.ACCESS_TOKEN);
+
+		Assertions.assertNotNull(found);
+		Assertions.assertEquals("live-" + suffix, found.getId());
+		Assertions.assertEquals("alex@gmail.com", found.getPrincipalName());
+		Assertions.assertEquals(1L, found.<Number>getAttribute("user_id").longValue());
+		Assertions.assertNotNull(found.getAttribute(Principal.class.getName()));
+		Assertions.assertNotNull(service.findById("live-" + suffix));
+	}
+
+	@Test
+	public void saveShouldPurgeAuthorizationsWhoseTokensExpired() {
+		service.save(authorization("live", Duration.ofMinutes(30)));
+		service.save(authorization("expired", Duration.ofMinutes(-30)));
+
+		Assertions.assertNull(service.findById("expired-" + suffix));
+		Assertions.assertNotNull(service.findById("live-" + suffix));
+	}
+
+	private OAuth2Authorization authorization(String name, Duration ttl) {
+		Instant expiresAt = Instant.now().plus(ttl);
+		Instant issuedAt = expiresAt.minus(Duration.ofHours(1));
+		OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-" + name + "-" + suffix,
+				issuedAt, expiresAt);
+		UsernamePasswordAuthenticationToken principal = UsernamePasswordAuthenticationToken.authenticated("alex@gmail.com",
+				null, List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+		return OAuth2Authorization.withRegisteredClient(client)
+				.id(name + "-" + suffix)
+				.principalName("alex@gmail.com")
+				.authorizationGrantType(PASSWORD)
+				.attribute(Principal.class.getName(), principal)
+				.attribute("user_id", 1L)
+				.accessToken(token)
+				.build();
+	}
+}
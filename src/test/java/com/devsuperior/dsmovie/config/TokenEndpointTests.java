@@ -0,0 +1,118 @@
+package com.devsuperior.dsmovie.config;
+
+import com.devsuperior.dsmovie.entities.RoleEntity;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.repositories.UserRepository;
+import com.devsuperior.dsmovie.tests.TokenUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TokenEndpointTests {
+
+	private static final int USERS = 200;
+	private static final int THREADS = 32;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenUtil tokenUtil;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@SpyBean
+	private PasswordEncoder passwordEncoder;
+
+	private String password;
+	private List<UserEntity> users;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		password = "123456";
+		String encoded = passwordEncoder.encode(password);
+		RoleEntity client = new RoleEntity(1L, "ROLE_CLIENT");
+		RoleEntity admin = new RoleEntity(2L, "ROLE_ADMIN");
+
+		String suffix = UUID.randomUUID().toString();
+		List<UserEntity> entities = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			UserEntity user = new UserEntity(null, "Login " + i, "login" + i + "-" + suffix + "@gmail.com", encoded);
+			user.addRole(client);
+			if (i % 2 == 0) {
+				user.addRole(admin);
+			}
+			entities.add(user);
+		}
+		users = userRepository.saveAll(entities);
+	}
+
+	@Test
+	public void tokenShouldCarryOwnClaimsWhenLoginsAreConcurrent() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Map<String, Object>>> claims = new ArrayList<>();
+
+		try {
+			for (UserEntity user : users) {
+				claims.add(executor.submit(() -> decode(tokenUtil.obtainAccessToken(mockMvc, user.getUsername(), password))));
+			}
+			for (int i = 0; i < USERS; i++) {
+				Map<String, Object> result = claims.get(i).get();
+				List<String> expected = i % 2 == 0 ? List.of("ROLE_ADMIN", "ROLE_CLIENT") : List.of("ROLE_CLIENT");
+
+				Assertions.assertEquals(users.get(i).getUsername(), result.get("username"));
+				Assertions.assertEquals(users.get(i).getId(), ((Number) result.get("user_id")).longValue());
+				Assertions.assertEquals(expected, ((List<?>) result.get("authorities")).stream().map(Object::toString).sorted().toList());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void refreshShouldReissueSameClaimsWithoutCheckingPassword() throws Exception {
+		UserEntity user = users.get(0);
+		Map<String, Object> login = tokenUtil.obtainTokens(mockMvc, user.getUsername(), password);
+		Mockito.clearInvocations(passwordEncoder);
+
+		Assertions.assertNotNull(login.get("refresh_token"));
+
+		Map<String, Object> refreshed = tokenUtil.refreshTokens(mockMvc, login.get("refresh_token").toString());
+		Map<String, Object> claims = decode(refreshed.get("access_token").toString());
+
+		Assertions.assertNotEquals(login.get("access_token"), refreshed.get("access_token"));
+		Assertions.assertEquals(user.getUsername(), claims.get("username"));
+		Assertions.assertEquals(user.getId(), ((Number) claims.get("user_id")).longValue());
+		Assertions.assertEquals(List.of("ROLE_ADMIN", "ROLE_CLIENT"), ((List<?>) claims.get("authorities")).stream().map(Object::toString).sorted().toList());
+		Mockito.verify(passwordEncoder, Mockito.never()).matches(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	private static Map<String, Object> decode(String accessToken) {
+		String payload = accessToken.split("\\.")[1];
+		String json = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+		return new JacksonJsonParser().parseMap(json);
+	}
+}
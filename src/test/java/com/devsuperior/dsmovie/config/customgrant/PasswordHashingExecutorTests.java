@@ -0,0 +1,86 @@
+package com.devsuperior.dsmovie.config.customgrant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(SpringExtension.class)
+public class PasswordHashingExecutorTests {
+
+	@Mock
+	private PasswordEncoder passwordEncoder;
+
+	private CountDownLatch started, release;
+	private PasswordHashingExecutor executor;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		started = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+		executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+		registry = new SimpleMeterRegistry();
+		executor.bindTo(registry);
+
+		Mockito.when(passwordEncoder.matches(ArgumentMatchers.eq("123456"), ArgumentMatchers.any())).thenReturn(true);
+		Mockito.when(passwordEncoder.matches(ArgumentMatchers.eq("slow"), ArgumentMatchers.any())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return true;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	public void matchesShouldReturnEncoderResult() {
+		Assertions.assertTrue(executor.matches("123456", "encoded"));
+		Assertions.assertFalse(executor.matches("wrong", "encoded"));
+	}
+
+	@Test
+	public void matchesShouldRejectWhenPoolAndQueueAreFull() throws Exception {
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.matches("slow", "encoded"));
+		Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.matches("123456", "encoded"));
+		while (registry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1) {
+			Thread.onSpinWait();
+		}
+
+		Assertions.assertThrows(RejectedExecutionException.class, () -> executor.matches("123456", "encoded"));
+		Assertions.assertEquals(1.0, registry.get("password.hashing.rejected").functionCounter().count());
+
+		release.countDown();
+		Assertions.assertTrue(running.get(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(queued.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void matchesShouldRejectWhenCheckTimesOut() throws Exception {
+		executor.shutdown();
+		executor = new PasswordHashingExecutor(passwordEncoder, 1, 1, Duration.ofMillis(50));
+		executor.bindTo(registry = new SimpleMeterRegistry());
+
+		Assertions.assertThrows(RejectedExecutionException.class, () -> executor.matches("slow", "encoded"));
+		Assertions.assertEquals(1.0, registry.get("password.hashing.rejected").functionCounter().count());
+	}
+}
@@ -0,0 +1,137 @@
+package com.devsuperior.dsmovie.controllers;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MovieControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	public void findAllShouldReturnNotModifiedWhenETagMatches() throws Exception {
+		String eTag = mockMvc.perform(get("/movies?page=0&size=5").accept("application/json"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		Assertions.assertNotNull(eTag);
+		mockMvc.perform(get("/movies?page=0&size=5").accept("application/json").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		mockMvc.perform(get("/movies?page=1&size=5").accept("application/json").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+		String eTag = mockMvc.perform(get("/movies/1").accept("application/json"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(1))
+				.andExpect(jsonPath("$.title").exists())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		Assertions.assertNotNull(eTag);
+		mockMvc.perform(get("/movies/1").accept("application/json").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	public void findAllByIdShouldReturnMoviesInRequestedOrderWithMissingIds() throws Exception {
+		mockMvc.perform(get("/movies/batch?ids=3,1,9999").accept("application/json"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].id").value(3))
+				.andExpect(jsonPath("$.content[1].id").value(1))
+				.andExpect(jsonPath("$.missing[0]").value(9999));
+	}
+
+	@Test
+	public void insertShouldDefaultScoreToZeroWhenScoreIsNotSent() throws Exception {
+		String body = "{\"title\": \"Movie Without Score\", \"count\": 3, "
+				+ "\"image\": \"https://www.themoviedb.org/t/p/w533_and_h300_bestv2/jBJWaqoSCiARWtfV0GlqHrcdidd.jpg\"}";
+
+		MvcResult created = mockMvc.perform(post("/movies")
+						.with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body)
+						.accept("application/json"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.score").value(0.0))
+				.andExpect(jsonPath("$.count").value(3))
+				.andReturn();
+		Integer id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+		mockMvc.perform(delete("/movies/{id}", id)
+						.with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+				.andExpect(status().isNoContent());
+	}
+
+	@Test
+	public void insertShouldReturnUnprocessableEntityWhenScoreIsNegative() throws Exception {
+		String body = "{\"title\": \"Movie With Negative Score\", \"score\": -1.0, \"count\": 3, "
+				+ "\"image\": \"https://www.themoviedb.org/t/p/w533_and_h300_bestv2/jBJWaqoSCiARWtfV0GlqHrcdidd.jpg\"}";
+
+		mockMvc.perform(post("/movies")
+						.with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body)
+						.accept("application/json"))
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.errors[0].fieldName").value("score"));
+	}
+
+	@Test
+	public void findAllAfterShouldFollowNextAcrossMovieCreatedWithoutCount() throws Exception {
+		String body = "{\"title\": \"Movie Without Count\", \"score\": 0.0, "
+				+ "\"image\": \"https://www.themoviedb.org/t/p/w533_and_h300_bestv2/jBJWaqoSCiARWtfV0GlqHrcdidd.jpg\"}";
+		MvcResult created = mockMvc.perform(post("/movies")
+						.with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body)
+						.accept("application/json"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.count").value(0))
+				.andReturn();
+		Integer id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+		try {
+			List<Integer> ids = new ArrayList<>();
+			String after = "";
+			while (after != null) {
+				String page = mockMvc.perform(get("/movies").param("after", after).param("sort", "count").param("size", "5")
+								.accept("application/json"))
+						.andExpect(status().isOk())
+						.andReturn().getResponse().getContentAsString();
+				ids.addAll(JsonPath.read(page, "$.content[*].id"));
+				after = JsonPath.read(page, "$.next");
+			}
+			Assertions.assertTrue(ids.contains(id));
+		}
+		finally {
+			mockMvc.perform(delete("/movies/{id}", id)
+							.with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+					.andExpect(status().isNoContent());
+		}
+	}
+}
\ No newline at end of file
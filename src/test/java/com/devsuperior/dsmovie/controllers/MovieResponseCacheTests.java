@@ -0,0 +1,102 @@
+package com.devsuperior.dsmovie.controllers;
+
+import com.devsuperior.dsmovie.controllers.MovieResponseCache.CachedResponse;
+import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.services.MovieCache;
+import com.devsuperior.dsmovie.services.MovieLinkFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class MovieResponseCacheTests {
+
+	@InjectMocks
+	private MovieResponseCache cache;
+
+	@Mock
+	private ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+	@Spy
+	private MovieLinkFactory links = new MovieLinkFactory();
+	@Mock
+	private MovieCache movieCache;
+	@Mock
+	private Function<MovieSummaryDTO, MovieDTO> renderer;
+
+	private MovieSummaryDTO movie;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		movie = new MovieSummaryDTO(1L, "Test Movie", 4.5, 2, "https://www.themoviedb.org/t/p/w533_and_h300_bestv2/jBJWaqoSCiARWtfV0GlqHrcdidd.jpg", 3L);
+
+		RequestMappingHandlerAdapter adapter = new RequestMappingHandlerAdapter();
+		adapter.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter()));
+		Mockito.when(handlerAdapter.getObject()).thenReturn(adapter);
+		Mockito.when(renderer.apply(ArgumentMatchers.any())).thenAnswer(invocation -> new MovieDTO(invocation.<MovieSummaryDTO>getArgument(0)));
+
+		ReflectionTestUtils.setField(cache, "maxSize", 100L);
+		cache.start();
+	}
+
+	@Test
+	public void getShouldServeSameBytesWithoutRenderingWhenVersionIsUnchanged() {
+		CachedResponse first = cache.get(movie, renderer);
+		CachedResponse second = cache.get(copy(movie, movie.getVersion()), renderer);
+
+		Assertions.assertSame(first.body(), second.body());
+		Assertions.assertEquals("\"1-3\"", first.eTag());
+		Assertions.assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"title\":\"Test Movie\""));
+		Assertions.assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(first.contentType()));
+		Mockito.verify(renderer, times(1)).apply(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void getShouldRenderAgainWithNewETagWhenVersionChanged() {
+		CachedResponse first = cache.get(movie, renderer);
+		MovieSummaryDTO updated = copy(movie, 4L);
+		CachedResponse second = cache.get(updated, renderer);
+
+		Assertions.assertNotEquals(first.eTag(), second.eTag());
+		Assertions.assertEquals("\"1-4\"", second.eTag());
+		Mockito.verify(renderer, times(1)).apply(updated);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void getShouldRenderAgainWhenMovieCacheInvalidatesMovie() {
+		ArgumentCaptor<Consumer<Long>> listener = ArgumentCaptor.forClass(Consumer.class);
+		Mockito.verify(movieCache).addInvalidationListener(listener.capture());
+
+		CachedResponse first = cache.get(movie, renderer);
+		listener.getValue().accept(movie.getId());
+		CachedResponse second = cache.get(movie, renderer);
+
+		Assertions.assertNotSame(first.body(), second.body());
+		Mockito.verify(renderer, times(2)).apply(movie);
+	}
+
+	private MovieSummaryDTO copy(MovieSummaryDTO movie, Long version) {
+		return new MovieSummaryDTO(movie.getId(), movie.getTitle(), movie.getScore(), movie.getCount(), movie.getImage(), version);
+	}
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dsmovie.controllers.handlers;
+
+import com.devsuperior.dsmovie.dto.CustomErrorDTO;
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+public class ControllerExceptionHandlerTests {
+
+	private final ControllerExceptionHandler handler = new ControllerExceptionHandler();
+
+	@Test
+	public void conflictShouldReturnConflictWhenMovieWasChangedConcurrently() {
+		MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/movies/1");
+
+		ResponseEntity<CustomErrorDTO> result = handler.conflict(
+				new ObjectOptimisticLockingFailureException(MovieEntity.class, 1L), request);
+
+		Assertions.assertEquals(HttpStatus.CONFLICT, result.getStatusCode());
+		Assertions.assertEquals(409, result.getBody().getStatus());
+		Assertions.assertEquals("/movies/1", result.getBody().getPath());
+	}
+}
@@ -0,0 +1,99 @@
+package com.devsuperior.dsmovie.repositories;
+
+import com.devsuperior.dsmovie.dto.ScoreImportDTO;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.tests.ScoreFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest
+public class ScoreBatchRepositoryTests {
+
+	@Autowired
+	private ScoreBatchRepository scoreBatchRepository;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private ScoreFixture fixture;
+	private Long movieId, firstUserId, secondUserId, nonExistsId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = new ScoreFixture(movieRepository, userRepository, namedJdbcTemplate);
+		movieId = fixture.saveMovie("Import Test Movie").getId();
+
+		List<UserEntity> users = fixture.saveUsers("Importer", 2);
+		firstUserId = users.get(0).getId();
+		secondUserId = users.get(1).getId();
+		nonExistsId = Long.MAX_VALUE;
+
+		jdbcTemplate.update("INSERT INTO tb_score (movie_id, user_id, score_value) VALUES (?, ?, ?)", movieId, firstUserId, 2.0);
+		jdbcTemplate.update("UPDATE tb_movie SET score_sum = 2.0, count = 1, score = 2.0 WHERE id = ?", movieId);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		fixture.deleteAll();
+	}
+
+	@Test
+	public void saveAllShouldUpsertKnownRowsAndRecomputeAggregate() {
+		long version = jdbcTemplate.queryForObject("SELECT version FROM tb_movie WHERE id = ?", Long.class, movieId);
+
+		int written = scoreBatchRepository.saveAll(List.of(
+				new ScoreImportDTO(movieId, firstUserId, 4.0),
+				new ScoreImportDTO(movieId, secondUserId, 3.5),
+				new ScoreImportDTO(nonExistsId, firstUserId, 5.0),
+				new ScoreImportDTO(movieId, nonExistsId, 5.0)));
+
+		Assertions.assertEquals(2, written);
+		Assertions.assertEquals(4.0, jdbcTemplate.queryForObject(
+				"SELECT score_value FROM tb_score WHERE movie_id = ? AND user_id = ?", Double.class, movieId, firstUserId));
+		Assertions.assertEquals(2, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM tb_score WHERE movie_id = ?", Integer.class, movieId));
+
+		Map<String, Object> movie = jdbcTemplate.queryForMap(
+				"SELECT score_sum, count, score, version FROM tb_movie WHERE id = ?", movieId);
+		Assertions.assertEquals(7.5, ((Number) movie.get("score_sum")).doubleValue(), 1e-9);
+		Assertions.assertEquals(2, ((Number) movie.get("count")).intValue());
+		Assertions.assertEquals(7.5 / 2, ((Number) movie.get("score")).doubleValue(), 1e-9);
+		Assertions.assertEquals(version + 1, ((Number) movie.get("version")).longValue());
+	}
+
+	@Test
+	public void saveAllShouldStoreSameScoreAsApplyScore() {
+		scoreBatchRepository.saveAll(List.of(
+				new ScoreImportDTO(movieId, firstUserId, 1.0),
+				new ScoreImportDTO(movieId, secondUserId, 1.1)));
+		double imported = jdbcTemplate.queryForObject("SELECT score FROM tb_movie WHERE id = ?", Double.class, movieId);
+
+		jdbcTemplate.update("UPDATE tb_movie SET score_sum = 1.0, count = 1 WHERE id = ?", movieId);
+		transactionTemplate.executeWithoutResult(status -> movieRepository.applyScore(movieId, 1.1, 1));
+		double applied = jdbcTemplate.queryForObject("SELECT score FROM tb_movie WHERE id = ?", Double.class, movieId);
+
+		Assertions.assertEquals(applied, imported);
+	}
+}
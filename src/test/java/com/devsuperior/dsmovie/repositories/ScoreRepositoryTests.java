@@ -0,0 +1,98 @@
+package com.devsuperior.dsmovie.repositories;
+
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.entities.ScoreEntity;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.tests.ScoreFixture;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+public class ScoreRepositoryTests {
+
+	private static final int VOTERS = 20;
+
+	@Autowired
+	private ScoreRepository scoreRepository;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	private ScoreFixture fixture;
+	private Long movieId;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = new ScoreFixture(movieRepository, userRepository, namedJdbcTemplate);
+		MovieEntity movie = fixture.saveMovie("Fetch Test Movie");
+		movieId = movie.getId();
+
+		List<ScoreEntity> scores = new ArrayList<>();
+		for (UserEntity user : fixture.saveUsers("Voter", VOTERS)) {
+			ScoreEntity score = new ScoreEntity();
+			score.setMovie(movie);
+			score.setUser(user);
+			score.setValue(4.0);
+			scores.add(score);
+		}
+		scoreRepository.saveAll(scores);
+
+		// enabled on the shared context rather than through a property, which would start a second
+		// context over the same in-memory database
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		statistics.setStatisticsEnabled(false);
+		fixture.deleteAll();
+	}
+
+	@Test
+	public void movieScoresShouldLoadWithoutSelectingUsers() {
+		double sum = transactionTemplate.execute(status -> {
+			MovieEntity movie = movieRepository.findById(movieId).get();
+			return movie.getScores().stream().mapToDouble(ScoreEntity::getValue).sum();
+		});
+
+		Assertions.assertEquals(VOTERS * 4.0, sum, 1e-9);
+		Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	public void searchByMovieWithUserShouldFetchUsersInOneSelect() {
+		List<String> names = transactionTemplate.execute(status -> scoreRepository.searchByMovieWithUser(movieId).stream()
+				.map(score -> score.getId().getUser().getName())
+				.toList());
+
+		Assertions.assertEquals(VOTERS, names.size());
+		Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+	}
+}
@@ -0,0 +1,43 @@
+package com.devsuperior.dsmovie.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+public class CatalogVersionTests {
+
+	private CatalogVersion catalogVersion;
+	private String resource;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		catalogVersion = new CatalogVersion();
+		ReflectionTestUtils.setField(catalogVersion, "ttl", Duration.ofDays(1));
+		resource = "http://localhost/movies?page=0&size=12";
+	}
+
+	@Test
+	public void eTagShouldBeStableWhileCatalogueIsUnchanged() {
+		Assertions.assertEquals(catalogVersion.eTag(resource), catalogVersion.eTag(resource));
+	}
+
+	@Test
+	public void eTagShouldChangeWhenCatalogueChanged() {
+		String before = catalogVersion.eTag(resource);
+		catalogVersion.changed();
+
+		Assertions.assertNotEquals(before, catalogVersion.eTag(resource));
+	}
+
+	@Test
+	public void eTagShouldDifferPerResourceAndNode() {
+		Assertions.assertNotEquals(catalogVersion.eTag(resource), catalogVersion.eTag(resource + "&title=the"));
+
+		CatalogVersion otherNode = new CatalogVersion();
+		ReflectionTestUtils.setField(otherNode, "ttl", Duration.ofDays(1));
+		Assertions.assertNotEquals(catalogVersion.eTag(resource), otherNode.eTag(resource));
+	}
+}
@@ -0,0 +1,155 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.tests.MovieFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class MovieCacheTests {
+
+	@Mock
+	private Function<Long, Optional<MovieSummaryDTO>> loader;
+
+	private MovieCache cache;
+	private MovieEntity movie;
+	private Long existsId, nonExistsId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		movie = MovieFactory.createMovieEntity();
+		existsId = 1L;
+		nonExistsId = 99L;
+
+		cache = new MovieCache();
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(cache, "maxSize", 100L);
+		cache.start();
+
+		Mockito.when(loader.apply(existsId)).thenAnswer(invocation -> Optional.of(new MovieSummaryDTO(movie)));
+		Mockito.when(loader.apply(nonExistsId)).thenReturn(Optional.empty());
+	}
+
+	@Test
+	public void getShouldLoadOnceWhenMovieIsCached() {
+		cache.get(existsId, loader);
+		Optional<MovieSummaryDTO> result = cache.get(existsId, loader);
+
+		Assertions.assertEquals("Test Movie", result.get().getTitle());
+		Mockito.verify(loader, times(1)).apply(existsId);
+	}
+
+	@Test
+	public void getShouldLoadAgainWhenMovieWasInvalidated() {
+		cache.get(existsId, loader);
+		movie.setTitle("Updated Movie");
+		cache.invalidate(existsId);
+
+		Assertions.assertEquals("Updated Movie", cache.get(existsId, loader).get().getTitle());
+		Mockito.verify(loader, times(2)).apply(existsId);
+	}
+
+	@Test
+	public void getShouldNotCacheMissingMovie() {
+		Assertions.assertTrue(cache.get(nonExistsId, loader).isEmpty());
+		Assertions.assertTrue(cache.get(nonExistsId, loader).isEmpty());
+
+		Mockito.verify(loader, times(2)).apply(nonExistsId);
+	}
+
+	@Test
+	public void getShouldLoadOnceWhenConcurrentRequestsMiss() throws Exception {
+		int requests = 32;
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(loader.apply(existsId)).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return Optional.of(new MovieSummaryDTO(movie));
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(requests);
+		List<Future<Optional<MovieSummaryDTO>>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < requests; i++) {
+				results.add(executor.submit(() -> cache.get(existsId, loader)));
+			}
+			while (registry.get("movie.summaries.coalesced").functionCounter().count() < requests - 1) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+			for (Future<Optional<MovieSummaryDTO>> result : results) {
+				Assertions.assertEquals("Test Movie", result.get(5, TimeUnit.SECONDS).get().getTitle());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		Mockito.verify(loader, times(1)).apply(existsId);
+	}
+
+	@Test
+	public void getShouldNotCacheLoadThatOverlapsInvalidation() {
+		Mockito.when(loader.apply(existsId)).thenAnswer(invocation -> {
+			cache.invalidate(existsId);
+			return Optional.of(new MovieSummaryDTO(movie));
+		});
+
+		Assertions.assertTrue(cache.get(existsId, loader).isPresent());
+		cache.get(existsId, loader);
+
+		Mockito.verify(loader, times(2)).apply(existsId);
+	}
+
+	@Test
+	public void getAllShouldLoadOnlyMoviesNotCached() {
+		cache.get(existsId, loader);
+		List<Long> requested = new ArrayList<>();
+
+		Map<Long, MovieSummaryDTO> result = cache.getAll(List.of(existsId, 2L, nonExistsId), ids -> {
+			requested.addAll(ids);
+			return List.of(new MovieSummaryDTO(2L, "Other Movie", 4.0, 2, movie.getImage(), 0L));
+		});
+
+		Assertions.assertEquals(List.of(2L, nonExistsId), requested);
+		Assertions.assertEquals(Set.of(existsId, 2L), result.keySet());
+		Assertions.assertEquals("Other Movie", cache.get(2L, loader).get().getTitle());
+		Mockito.verify(loader, times(0)).apply(2L);
+	}
+
+	@Test
+	public void getShouldAlwaysLoadWhenDisabled() {
+		ReflectionTestUtils.setField(cache, "enabled", false);
+
+		cache.get(existsId, loader);
+		cache.get(existsId, loader);
+
+		Mockito.verify(loader, times(2)).apply(existsId);
+	}
+}
@@ -0,0 +1,61 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.controllers.MovieController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+public class MovieLinkFactoryTests {
+
+	private MovieLinkFactory links;
+	private Long id;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		links = new MovieLinkFactory();
+		id = 42L;
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies");
+		request.setScheme("https");
+		request.setServerName("api.example.com");
+		request.setServerPort(8443);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void linksShouldMatchLinkToOutput() {
+		Assertions.assertEquals(
+				linkTo(methodOn(MovieController.class).findAll(null, null, null, null, null)).withSelfRel(),
+				links.findAll(IanaLinkRelations.SELF));
+		Assertions.assertEquals(
+				linkTo(methodOn(MovieController.class).findById(id)).withRel("Get movie by ID"),
+				links.findById(id, LinkRelation.of("Get movie by ID")));
+		Assertions.assertEquals(
+				linkTo(methodOn(MovieController.class).update(id, null)).withRel("Update movie"),
+				links.update(id, LinkRelation.of("Update movie")));
+		Assertions.assertEquals(
+				linkTo(methodOn(MovieController.class).delete(id)).withRel("Delete movie"),
+				links.delete(id, LinkRelation.of("Delete movie")));
+	}
+
+	@Test
+	public void linksShouldBeRelativeOutsideOfRequest() {
+		RequestContextHolder.resetRequestAttributes();
+
+		Assertions.assertEquals("/movies/42", links.findById(id, IanaLinkRelations.SELF).getHref());
+	}
+}
@@ -1,8 +1,12 @@
 package com.devsuperior.dsmovie.services;
 
+import com.devsuperior.dsmovie.dto.CursorPageDTO;
+import com.devsuperior.dsmovie.dto.MovieBatchDTO;
 import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
 import com.devsuperior.dsmovie.entities.MovieEntity;
 import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.services.exceptions.BadRequestException;
 import com.devsuperior.dsmovie.services.exceptions.DatabaseException;
 import com.devsuperior.dsmovie.services.exceptions.ResourceNotFoundException;
 import com.devsuperior.dsmovie.tests.MovieFactory;
@@ -15,14 +19,26 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.Optional;
 
 import static org.mockito.Mockito.times;
@@ -36,9 +52,25 @@ public class MovieServiceTests {
 	@Mock
 	private MovieRepository repository;
 
+	@Mock
+	private MovieTitleIndex titleIndex;
+
+	@Mock
+	private MovieTotalCache totalCache;
+
+	@Spy
+	private MovieLinkFactory links = new MovieLinkFactory();
+
+	@Mock
+	private MovieCache movieCache;
+
+	@Mock
+	private CatalogVersion catalogVersion;
+
 	private String parametro;
-	private PageImpl<MovieEntity> page;
+	private SliceImpl<MovieSummaryDTO> page;
 	private MovieEntity movie;
+	private MovieSummaryDTO summary;
 	private MovieDTO movieDto;
 	private Long existsId, nonExistsId, dependentId;
 
@@ -49,7 +81,8 @@ public class MovieServiceTests {
 		movie = MovieFactory.createMovieEntity();
 		movieDto = MovieFactory.createMovieDTO();
 
-		page = new PageImpl<>(List.of(movie));
+		summary = new MovieSummaryDTO(movie);
+		page = new SliceImpl<>(List.of(summary));
 
 		existsId = 1L;
 		nonExistsId = 888L;
@@ -58,8 +91,16 @@ public class MovieServiceTests {
 		Mockito.when(repository.searchByTitle(ArgumentMatchers.any(), (Pageable) ArgumentMatchers.any()))
 				.thenReturn(page);
 
-		Mockito.when(repository.findById(existsId)).thenReturn(Optional.ofNullable(movie));
-		Mockito.when(repository.findById(nonExistsId)).thenReturn(Optional.empty());
+		Mockito.when(totalCache.get(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(40L);
+		Mockito.when(repository.countByTitle(ArgumentMatchers.any())).thenReturn(41L);
+
+		Mockito.when(repository.searchSummaryById(existsId)).thenReturn(Optional.of(summary));
+		Mockito.when(repository.searchSummaryById(nonExistsId)).thenReturn(Optional.empty());
+		Mockito.when(movieCache.get(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation ->
+				invocation.<Function<Long, Optional<MovieSummaryDTO>>>getArgument(1).apply(invocation.getArgument(0)));
+		Mockito.when(movieCache.getAll(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation ->
+				invocation.<Function<Collection<Long>, List<MovieSummaryDTO>>>getArgument(1).apply(invocation.getArgument(0)).stream()
+						.collect(Collectors.toMap(MovieSummaryDTO::getId, Function.identity())));
 
 		Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(movie);
 
@@ -76,21 +117,104 @@ public class MovieServiceTests {
 	@Test
 	public void findAllShouldReturnPagedMovieDTO() {
 		Pageable pageable = PageRequest.of(0, 12);
-		Page<MovieDTO> result = service.findAll(parametro, pageable);
+		Slice<MovieDTO> result = service.findAll(parametro, true, false, pageable);
 
 		Assertions.assertNotNull(result);
 		Assertions.assertEquals("Test Movie", result.getContent().get(0).getTitle());
-		Mockito.verify(repository, times(1)).searchByTitle(parametro, pageable);
+		Assertions.assertEquals(41L, ((Page<MovieDTO>) result).getTotalElements());
+		Mockito.verify(repository, times(1)).searchByTitle("the", pageable);
+		Mockito.verify(repository, times(1)).countByTitle("the");
+		Mockito.verify(totalCache, times(0)).get(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
 
+	@Test
+	public void findAllShouldServeCachedTotalWhenApproximateTotalIsSet() {
+		Pageable pageable = PageRequest.of(0, 12);
+		Slice<MovieDTO> result = service.findAll(parametro, true, true, pageable);
+
+		Assertions.assertEquals(40L, ((Page<MovieDTO>) result).getTotalElements());
+		Mockito.verify(repository, times(0)).countByTitle(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void findAllShouldSkipTotalWhenWithTotalIsFalse() {
+		Pageable pageable = PageRequest.of(0, 12);
+		Slice<MovieDTO> result = service.findAll(parametro, false, false, pageable);
+
+		Assertions.assertFalse(result instanceof Page);
+		Assertions.assertEquals("Test Movie", result.getContent().get(0).getTitle());
+		Mockito.verify(totalCache, times(0)).get(ArgumentMatchers.any(), ArgumentMatchers.any());
+		Mockito.verify(repository, times(0)).countByTitle(ArgumentMatchers.any());
+	}
+	
+	@Test
+	public void findAllShouldSearchNormalizedTitleWhenTermHasAccentsAndCase() {
+		Pageable pageable = PageRequest.of(0, 12);
+		service.findAll("EPISÓDIO", true, false, pageable);
+
+		Mockito.verify(repository, times(1)).searchByTitle("episodio", pageable);
+	}
+
+	@Test
+	public void findAllShouldLoadOnlyPageMoviesWhenTitleIndexIsWarm() {
+		Pageable pageable = PageRequest.of(0, 12);
+		Mockito.when(titleIndex.search("the", pageable)).thenReturn(new PageImpl<>(List.of(existsId), pageable, 1));
+		Mockito.when(repository.searchSummariesByIds(List.of(existsId))).thenReturn(List.of(summary));
+
+		Page<MovieDTO> result = (Page<MovieDTO>) service.findAll(parametro, true, false, pageable);
+
+		Assertions.assertEquals(1, result.getTotalElements());
+		Assertions.assertEquals("Test Movie", result.getContent().get(0).getTitle());
+		Mockito.verify(repository, times(0)).searchByTitle(ArgumentMatchers.any(), ArgumentMatchers.any());
 	}
 	
+	@Test
+	public void findAllSummariesShouldReturnLinkFreeMovies() {
+		Pageable pageable = PageRequest.of(0, 12);
+		Slice<MovieSummaryDTO> result = service.findAllSummaries(parametro, false, false, pageable);
+
+		Assertions.assertEquals("Test Movie", result.getContent().get(0).getTitle());
+		Mockito.verify(repository, times(1)).searchByTitle("the", pageable);
+		Mockito.verifyNoInteractions(links);
+	}
+
+	@Test
+	public void findAllAfterShouldReturnCursorThatResumesAfterLastMovie() {
+		Pageable pageable = PageRequest.of(0, 1);
+		ScrollPosition afterMovie = ScrollPosition.forward(Map.of("id", movie.getId()));
+		Mockito.when(repository.findByNormalizedTitleStartingWith("the", ScrollPosition.keyset(), Sort.by("id"), Limit.of(1)))
+				.thenReturn(Window.from(List.of(MovieFactory.createMovieSummary()), i -> afterMovie, true));
+
+		CursorPageDTO<MovieDTO> first = service.findAllAfter(parametro, "", pageable);
+		service.findAllAfter(parametro, first.getNext(), pageable);
+
+		Assertions.assertTrue(first.getHasNext());
+		Assertions.assertEquals("Test Movie", first.getContent().get(0).getTitle());
+		Mockito.verify(repository, times(1)).findByNormalizedTitleStartingWith("the", afterMovie, Sort.by("id"), Limit.of(1));
+		Mockito.verify(repository, times(0)).searchByTitle(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	@Test
+	public void findAllAfterShouldThrowBadRequestExceptionWhenCursorIsMalformed() {
+		Assertions.assertThrows(BadRequestException.class, () -> {
+			service.findAllAfter(parametro, "not a cursor", PageRequest.of(0, 12));
+		});
+	}
+
+	@Test
+	public void findAllAfterShouldThrowBadRequestExceptionWhenSortIsNotSupported() {
+		Assertions.assertThrows(BadRequestException.class, () -> {
+			service.findAllAfter(parametro, "", PageRequest.of(0, 12, Sort.by("image")));
+		});
+	}
+
 	@Test
 	public void findByIdShouldReturnMovieDTOWhenIdExists() {
 		MovieDTO movieDTO = service.findById(existsId);
 
 		Assertions.assertNotNull(movieDTO);
 		Assertions.assertEquals("Test Movie", movieDTO.getTitle());
-		Mockito.verify(repository, times(1)).findById(existsId);
+		Mockito.verify(repository, times(1)).searchSummaryById(existsId);
 	}
 	
 	@Test
@@ -99,9 +223,54 @@ public class MovieServiceTests {
 			service.findById(nonExistsId);
 		});
 
-		Mockito.verify(repository, Mockito.times(1)).findById(nonExistsId);
+		Mockito.verify(repository, Mockito.times(1)).searchSummaryById(nonExistsId);
 	}
 	
+	@Test
+	public void findSummaryByIdShouldReturnMovieSummaryDTOWhenIdExists() {
+		MovieSummaryDTO summary = service.findSummaryById(existsId);
+
+		Assertions.assertEquals("Test Movie", summary.getTitle());
+		Mockito.verifyNoInteractions(links);
+	}
+
+	@Test
+	public void findSummaryByIdShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.findSummaryById(nonExistsId);
+		});
+	}
+
+	@Test
+	public void findAllByIdShouldKeepRequestedOrderAndReportMissingIds() {
+		MovieSummaryDTO other = new MovieSummaryDTO(2L, "Other Movie", 4.0, 2, movie.getImage(), 0L);
+		Mockito.when(repository.searchSummariesByIds(ArgumentMatchers.any())).thenReturn(List.of(summary, other));
+
+		MovieBatchDTO result = service.findAllById(List.of(2L, nonExistsId, existsId, 2L));
+
+		Assertions.assertEquals(List.of(2L, existsId), result.getContent().stream().map(MovieDTO::getId).toList());
+		Assertions.assertEquals(List.of(nonExistsId), result.getMissing());
+		Mockito.verify(repository, times(1)).searchSummariesByIds(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void findAllByIdShouldSplitLargeListsInChunks() {
+		List<Long> ids = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+		MovieBatchDTO result = service.findAllById(ids);
+
+		Assertions.assertEquals(1000, result.getMissing().size());
+		Mockito.verify(repository, times(2)).searchSummariesByIds(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void findAllByIdShouldThrowBadRequestExceptionWhenTooManyIds() {
+		List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+		Assertions.assertThrows(BadRequestException.class, () -> service.findAllById(ids));
+		Mockito.verify(repository, times(0)).searchSummariesByIds(ArgumentMatchers.any());
+	}
+
 	@Test
 	public void insertShouldReturnMovieDTO() {
 		MovieDTO inserted = service.insert(movieDto);
@@ -118,6 +287,8 @@ public class MovieServiceTests {
 		Assertions.assertNotNull(updated);
 		Assertions.assertEquals("Test Movie", updated.getTitle());
 		Mockito.verify(repository, times(1)).save(ArgumentMatchers.any());
+		Mockito.verify(movieCache, times(1)).invalidate(existsId);
+		Mockito.verify(catalogVersion, times(1)).changed();
 	}
 	
 	@Test
@@ -136,6 +307,7 @@ public class MovieServiceTests {
 		});
 
 		Mockito.verify(repository, Mockito.times(1)).deleteById(existsId);
+		Mockito.verify(movieCache, Mockito.times(1)).invalidate(existsId);
 	}
 	
 	@Test
@@ -0,0 +1,149 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.projections.MovieTitleProjection;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.tests.MovieFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+public class MovieTitleIndexTests {
+
+	@InjectMocks
+	private MovieTitleIndex index;
+
+	@Mock
+	private MovieRepository repository;
+
+	private Pageable pageable;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		pageable = PageRequest.of(0, 12);
+
+		Mockito.when(repository.searchAllTitles()).thenReturn(List.of(
+				MovieFactory.createMovieTitle(1L, "The Witcher"),
+				MovieFactory.createMovieTitle(2L, "Star Wars: A Guerra dos Clones"),
+				MovieFactory.createMovieTitle(3L, "Titanic"),
+				MovieFactory.createMovieTitle(4L, "Rogue One: Uma História Star Wars")));
+	}
+
+	@Test
+	public void searchShouldReturnNullWhenIndexIsNotBuilt() {
+		Assertions.assertNull(index.search("star", pageable));
+	}
+
+	@Test
+	public void searchShouldReturnNullWhenSortedByOtherProperty() {
+		index.build();
+
+		Assertions.assertNull(index.search("star", PageRequest.of(0, 12, Sort.by("title"))));
+	}
+
+	@Test
+	public void searchShouldMatchPrefixesIgnoringCase() {
+		index.build();
+
+		Page<Long> result = index.search("STAR W", pageable);
+
+		Assertions.assertEquals(List.of(2L), result.getContent());
+		Assertions.assertEquals(1, result.getTotalElements());
+		Assertions.assertEquals(0, index.search("wars", pageable).getTotalElements());
+	}
+
+	@Test
+	public void searchShouldMatchShortAndEmptyTerms() {
+		index.build();
+
+		Assertions.assertEquals(List.of(3L), index.search("ti", pageable).getContent());
+		Assertions.assertEquals(4, index.search("", pageable).getTotalElements());
+	}
+
+	@Test
+	public void searchShouldReturnRequestedPageInIdOrder() {
+		index.build();
+
+		Page<Long> result = index.search("", PageRequest.of(1, 3));
+
+		Assertions.assertEquals(List.of(4L), result.getContent());
+		Assertions.assertEquals(4, result.getTotalElements());
+	}
+
+	@Test
+	public void searchShouldReflectPutAndRemove() {
+		index.build();
+
+		index.put(3L, "Star Trek");
+		index.remove(2L);
+
+		Assertions.assertEquals(List.of(3L), index.search("star", pageable).getContent());
+		Assertions.assertEquals(0, index.search("titanic", pageable).getTotalElements());
+	}
+
+	@Test
+	public void buildShouldPickUpTitlesWrittenElsewhere() {
+		index.build();
+		Mockito.when(repository.searchAllTitles()).thenReturn(List.of(
+				MovieFactory.createMovieTitle(3L, "Titanic"),
+				MovieFactory.createMovieTitle(5L, "Star Trek")));
+
+		index.build();
+
+		Assertions.assertEquals(List.of(5L), index.search("star", pageable).getContent());
+		Assertions.assertEquals(2, index.search("", pageable).getTotalElements());
+	}
+
+	@Test
+	public void buildShouldKeepLocalWritesCommittedWhileReadingSnapshot() {
+		index.build();
+		List<MovieTitleProjection> stale = repository.searchAllTitles();
+		Mockito.when(repository.searchAllTitles()).thenAnswer(invocation -> {
+			index.remove(3L);
+			index.put(5L, "Titanic II");
+			return stale;
+		});
+
+		index.build();
+
+		Assertions.assertEquals(List.of(5L), index.search("titanic", pageable).getContent());
+	}
+
+	@Test
+	public void buildShouldKeepCurrentIndexWhenSnapshotFails() {
+		index.build();
+		Mockito.when(repository.searchAllTitles()).thenThrow(new IllegalStateException());
+
+		Assertions.assertThrows(IllegalStateException.class, () -> index.build());
+
+		Assertions.assertEquals(List.of(2L), index.search("star", pageable).getContent());
+	}
+
+	@Test
+	public void searchShouldKeepTotalsCurrentAfterWrites() {
+		index.build();
+		Pageable first = PageRequest.of(0, 2);
+
+		Assertions.assertEquals(4, index.search("", first).getTotalElements());
+		Assertions.assertEquals(2, index.search("t", first).getTotalElements());
+
+		index.put(5L, "Tron");
+		index.put(6L, "Thor");
+		index.remove(1L);
+
+		Assertions.assertEquals(5, index.search("", first).getTotalElements());
+		Assertions.assertEquals(List.of(2L, 3L), index.search("", first).getContent());
+		Assertions.assertEquals(3, index.search("t", first).getTotalElements());
+	}
+}
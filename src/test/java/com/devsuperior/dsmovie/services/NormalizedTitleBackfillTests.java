@@ -0,0 +1,48 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.tests.MovieFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class NormalizedTitleBackfillTests {
+
+	@InjectMocks
+	private NormalizedTitleBackfill backfill;
+
+	@Mock
+	private MovieRepository repository;
+
+	@Test
+	public void runShouldFoldTitlesOfRowsWithoutNormalizedTitle() {
+		Mockito.when(repository.findTop500ByNormalizedTitleIsNull())
+				.thenReturn(List.of(MovieFactory.createMovieTitle(1L, "Episódio I")))
+				.thenReturn(List.of(MovieFactory.createMovieTitle(2L, "O Espetacular Homem-Aranha")))
+				.thenReturn(List.of());
+
+		backfill.run();
+
+		Mockito.verify(repository, times(1)).updateNormalizedTitle(1L, "episodio i");
+		Mockito.verify(repository, times(1)).updateNormalizedTitle(2L, "o espetacular homem-aranha");
+		Mockito.verify(repository, times(3)).findTop500ByNormalizedTitleIsNull();
+	}
+
+	@Test
+	public void runShouldDoNothingWhenAllRowsAreFilled() {
+		Mockito.when(repository.findTop500ByNormalizedTitleIsNull()).thenReturn(List.of());
+
+		backfill.run();
+
+		Mockito.verify(repository, times(0)).updateNormalizedTitle(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+}
@@ -0,0 +1,119 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.dto.ScoreImportDTO;
+import com.devsuperior.dsmovie.dto.ScoreImportResultDTO;
+import com.devsuperior.dsmovie.repositories.ScoreBatchRepository;
+import com.devsuperior.dsmovie.services.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+
+@ExtendWith(SpringExtension.class)
+public class ScoreImportServiceTests {
+
+	@InjectMocks
+	private ScoreImportService service;
+
+	@Mock
+	private ScoreBatchRepository repository;
+	@Spy
+	private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	@Mock
+	private MovieCache movieCache;
+	@Mock
+	private CatalogVersion catalogVersion;
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	private String ndjson, jsonArray, mistyped, malformed;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ndjson = """
+				{"movieId": 1, "userId": 1, "score": 4.0}
+				{"movieId": 1, "userId": 2, "score": 7.0}
+				{"movieId": 2, "userId": 1, "score": 3.5}
+				{"movieId": 3, "userId": 1, "score": 1.0}
+				""";
+		jsonArray = """
+				[{"movieId": 1, "userId": 1, "score": 4.0}, {"movieId": 2, "userId": 1, "score": 3.5}]
+				""";
+		mistyped = """
+				{"movieId": 1, "userId": 1, "score": 4.0}
+				{"movieId": "abc", "userId": 2, "score": 4.0}
+				{"movieId": 2, "userId": {"id": 1}, "score": 3.5}
+				{"movieId": 3, "userId": 1, "score": 1.0}
+				""";
+		malformed = """
+				[{"movieId": 1, "userId": 1, "score": 4.0}, {"movieId": 2, "userId":
+				""";
+
+		ReflectionTestUtils.setField(service, "batchSize", 2);
+
+		Mockito.when(repository.saveAll(ArgumentMatchers.any()))
+				.thenAnswer(invocation -> invocation.<List<ScoreImportDTO>>getArgument(0).size());
+	}
+
+	@Test
+	public void importScoresShouldWriteValidRowsInBatchesWhenBodyIsNdjson() throws Exception {
+		ScoreImportResultDTO result = service.importScores(stream(ndjson));
+
+		Assertions.assertEquals(4L, result.getReceived());
+		Assertions.assertEquals(3L, result.getImported());
+		Assertions.assertEquals(1L, result.getRejected());
+		Mockito.verify(repository, times(2)).saveAll(ArgumentMatchers.any());
+		Mockito.verify(movieCache, Mockito.atLeastOnce()).invalidate(1L);
+		Mockito.verify(movieCache, Mockito.atLeastOnce()).invalidate(2L);
+	}
+
+	@Test
+	public void importScoresShouldWriteRowsWhenBodyIsJsonArray() throws Exception {
+		ScoreImportResultDTO result = service.importScores(stream(jsonArray));
+
+		Assertions.assertEquals(2L, result.getReceived());
+		Assertions.assertEquals(2L, result.getImported());
+		Mockito.verify(repository, times(1)).saveAll(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void importScoresShouldRejectMistypedRowsAndContinue() throws Exception {
+		ScoreImportResultDTO result = service.importScores(stream(mistyped));
+
+		Assertions.assertEquals(4L, result.getReceived());
+		Assertions.assertEquals(2L, result.getImported());
+		Assertions.assertEquals(2L, result.getRejected());
+		Mockito.verify(repository, times(1)).saveAll(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void importScoresShouldWriteRowsReadAndThrowBadRequestExceptionWhenBodyIsMalformed() {
+		Assertions.assertThrows(BadRequestException.class, () -> {
+			service.importScores(stream(malformed));
+		});
+
+		Mockito.verify(repository, times(1)).saveAll(ArgumentMatchers.argThat(rows -> rows.size() == 1));
+	}
+
+	private InputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}
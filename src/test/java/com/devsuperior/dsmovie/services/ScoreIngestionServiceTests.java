@@ -0,0 +1,147 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
+import com.devsuperior.dsmovie.dto.ScoreDTO;
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dsmovie.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dsmovie.services.exceptions.TooManyRequestsException;
+import com.devsuperior.dsmovie.tests.MovieFactory;
+import com.devsuperior.dsmovie.tests.UserFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@ExtendWith(SpringExtension.class)
+public class ScoreIngestionServiceTests {
+
+	@InjectMocks
+	private ScoreIngestionService service;
+
+	@Mock
+	private ScoreService scoreService;
+	@Mock
+	private UserService userService;
+	@Mock
+	private MovieRepository movieRepository;
+	@Mock
+	private MovieCache movieCache;
+
+	private MovieEntity movie;
+	private UserEntity user;
+	private Long existsId, nonExistsId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		movie = MovieFactory.createMovieEntity();
+		user = UserFactory.createUserEntity();
+
+		existsId = 1L;
+		nonExistsId = 99L;
+
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "queueCapacity", 1);
+		ReflectionTestUtils.setField(service, "flushSize", 100);
+		ReflectionTestUtils.setField(service, "flushInterval", Duration.ofMinutes(1));
+
+		Mockito.when(userService.authenticatedReference()).thenReturn(user);
+		Mockito.when(movieRepository.searchSummaryById(existsId)).thenReturn(Optional.of(new MovieSummaryDTO(movie)));
+		Mockito.when(movieRepository.searchSummaryById(nonExistsId)).thenReturn(Optional.empty());
+		Mockito.when(movieCache.get(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation ->
+				invocation.<Function<Long, Optional<MovieSummaryDTO>>>getArgument(1).apply(invocation.getArgument(0)));
+
+		service.start();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		service.stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void submitShouldCoalesceVotesOfSameUserAndWriteThemOnStop() throws Exception {
+		MovieDTO result = service.submit(new ScoreDTO(existsId, 2.0));
+		service.submit(new ScoreDTO(existsId, 4.5));
+		service.stop();
+
+		ArgumentCaptor<Map<Long, Map<Long, Double>>> batch = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(scoreService, Mockito.times(1)).saveScores(batch.capture());
+
+		Assertions.assertEquals("Test Movie", result.getTitle());
+		Assertions.assertEquals(Map.of(existsId, Map.of(user.getId(), 4.5)), batch.getValue());
+	}
+
+	@Test
+	public void submitShouldThrowTooManyRequestsExceptionWhenQueueIsFull() {
+		service.submit(new ScoreDTO(existsId, 2.0));
+
+		Mockito.when(userService.authenticatedReference()).thenReturn(new UserEntity(3L, "Joao", "joao@gmail.com", "123"));
+
+		Assertions.assertThrows(TooManyRequestsException.class, () -> {
+			service.submit(new ScoreDTO(existsId, 3.0));
+		});
+	}
+
+	@Test
+	public void submitShouldThrowResourceNotFoundExceptionWhenNonExistingMovieId() throws Exception {
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.submit(new ScoreDTO(nonExistsId, 3.0));
+		});
+
+		service.stop();
+		Mockito.verify(scoreService, Mockito.never()).saveScores(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void submitShouldThrowServiceUnavailableExceptionWhenStopped() throws Exception {
+		service.stop();
+
+		Assertions.assertThrows(ServiceUnavailableException.class, () -> {
+			service.submit(new ScoreDTO(existsId, 3.0));
+		});
+	}
+
+	@Test
+	public void stopShouldRetryVotesWhenWriteFails() throws Exception {
+		ReflectionTestUtils.setField(service, "flushInterval", Duration.ofMillis(1));
+		Mockito.doThrow(new RuntimeException()).doNothing().when(scoreService).saveScores(ArgumentMatchers.any());
+
+		service.submit(new ScoreDTO(existsId, 2.0));
+		service.stop();
+
+		Mockito.verify(scoreService, Mockito.times(2)).saveScores(Map.of(existsId, Map.of(user.getId(), 2.0)));
+		Assertions.assertEquals(0L, ReflectionTestUtils.<AtomicLong>getField(service, "discarded").get());
+	}
+
+	@Test
+	public void stopShouldCountVotesDiscardedAfterLastAttempt() throws Exception {
+		ReflectionTestUtils.setField(service, "flushInterval", Duration.ofMillis(1));
+		Mockito.doThrow(new RuntimeException()).when(scoreService).saveScores(ArgumentMatchers.any());
+
+		service.submit(new ScoreDTO(existsId, 2.0));
+		service.stop();
+
+		// the whole chunk once, then the movie alone MAX_ATTEMPTS times
+		Mockito.verify(scoreService, Mockito.times(4)).saveScores(ArgumentMatchers.any());
+		Assertions.assertEquals(1L, ReflectionTestUtils.<AtomicLong>getField(service, "discarded").get());
+	}
+}
@@ -0,0 +1,143 @@
+package com.devsuperior.dsmovie.services;
+
+import com.devsuperior.dsmovie.dto.ScoreDTO;
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.repositories.UserRepository;
+import com.devsuperior.dsmovie.tests.ScoreFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+public class ScoreServiceConcurrencyTests {
+
+	private static final int VOTERS = 1000;
+	private static final int THREADS = 16;
+
+	@Autowired
+	private ScoreService service;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	@Autowired
+	private MovieCache movieCache;
+
+	private ScoreFixture fixture;
+	private Long movieId;
+	private List<UserEntity> voters;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = new ScoreFixture(movieRepository, userRepository, namedJdbcTemplate);
+		movieId = fixture.saveMovie("Concurrency Test Movie").getId();
+		voters = fixture.saveUsers("Voter", VOTERS);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		fixture.deleteAll();
+		movieCache.invalidate(movieId);
+	}
+
+	@Test
+	public void saveScoreShouldNotLoseUpdatesWhenVotesAreConcurrent() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		double expectedSum = 0.0;
+
+		try {
+			for (int i = 0; i < VOTERS; i++) {
+				UserEntity voter = voters.get(i);
+				double firstVote = (i % 11) * 0.5;
+				double secondVote = ((i * 7) % 11) * 0.5;
+				expectedSum += secondVote;
+
+				futures.add(executor.submit(() -> {
+					authenticate(voter);
+					try {
+						service.saveScore(new ScoreDTO(movieId, firstVote));
+						service.saveScore(new ScoreDTO(movieId, secondVote));
+					}
+					finally {
+						SecurityContextHolder.clearContext();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		MovieEntity movie = movieRepository.findById(movieId).get();
+		Double recomputed = jdbcTemplate.queryForObject(
+				"SELECT AVG(score_value) FROM tb_score WHERE movie_id = ?", Double.class, movieId);
+
+		Assertions.assertEquals(VOTERS, movie.getCount());
+		Assertions.assertEquals(expectedSum, movie.getScoreSum(), 1e-9);
+		Assertions.assertEquals(expectedSum / VOTERS, movie.getScore(), 1e-9);
+		Assertions.assertEquals(recomputed, movie.getScore(), 1e-9);
+	}
+
+	@Test
+	public void saveScoreShouldKeepAggregateEqualToFullRecomputation() {
+		int[] voters = {1, 2, 3, 1, 4, 2, 5, 3};
+		double[] values = {5.0, 3.5, 4.0, 1.0, 2.5, 4.5, 0.5, 3.0};
+
+		for (int i = 0; i < voters.length; i++) {
+			authenticate(this.voters.get(voters[i]));
+			try {
+				service.saveScore(new ScoreDTO(movieId, values[i]));
+			}
+			finally {
+				SecurityContextHolder.clearContext();
+			}
+
+			MovieEntity movie = movieRepository.findById(movieId).get();
+			Map<String, Object> recomputed = jdbcTemplate.queryForMap(
+					"SELECT SUM(score_value) AS total, COUNT(*) AS votes, AVG(score_value) AS average FROM tb_score WHERE movie_id = ?", movieId);
+
+			Assertions.assertEquals(((Number) recomputed.get("votes")).intValue(), movie.getCount());
+			Assertions.assertEquals(((Number) recomputed.get("total")).doubleValue(), movie.getScoreSum(), 1e-9);
+			Assertions.assertEquals(((Number) recomputed.get("average")).doubleValue(), movie.getScore(), 1e-9);
+		}
+	}
+
+	private void authenticate(UserEntity voter) {
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "none")
+				.claim("username", voter.getUsername())
+				.build();
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+	}
+}
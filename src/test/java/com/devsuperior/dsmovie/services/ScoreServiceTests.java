@@ -1,12 +1,14 @@
 package com.devsuperior.dsmovie.services;
 
 import com.devsuperior.dsmovie.dto.MovieDTO;
+import com.devsuperior.dsmovie.dto.MovieSummaryDTO;
 import com.devsuperior.dsmovie.dto.ScoreDTO;
 import com.devsuperior.dsmovie.entities.MovieEntity;
 import com.devsuperior.dsmovie.entities.ScoreEntity;
 import com.devsuperior.dsmovie.entities.UserEntity;
 import com.devsuperior.dsmovie.repositories.MovieRepository;
 import com.devsuperior.dsmovie.repositories.ScoreRepository;
+import com.devsuperior.dsmovie.repositories.UserRepository;
 import com.devsuperior.dsmovie.services.exceptions.ResourceNotFoundException;
 import com.devsuperior.dsmovie.tests.MovieFactory;
 import com.devsuperior.dsmovie.tests.ScoreFactory;
@@ -21,7 +23,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.mockito.Mockito.times;
 
@@ -37,6 +42,12 @@ public class ScoreServiceTests {
 	private UserService userService;
 	@Mock
 	private MovieRepository movieRepository;
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private MovieCache movieCache;
+	@Mock
+	private CatalogVersion catalogVersion;
 
 	private ScoreEntity score;
 	private ScoreDTO scoreDTO;
@@ -60,13 +71,16 @@ public class ScoreServiceTests {
 		movie.getScores().add(ScoreFactory.createScoreEntity());
 
 		Mockito.when(movieRepository.findById(existsId)).thenReturn(Optional.ofNullable(movie));
-		Mockito.when(movieRepository.findById(nonExistsId)).thenReturn(Optional.empty());
+		Mockito.when(movieRepository.searchSummaryById(existsId)).thenReturn(Optional.of(new MovieSummaryDTO(movie)));
+		Mockito.when(movieRepository.searchSummaryById(nonExistsId)).thenReturn(Optional.empty());
+		Mockito.when(movieCache.get(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation ->
+				invocation.<Function<Long, Optional<MovieSummaryDTO>>>getArgument(1).apply(invocation.getArgument(0)));
 
-		Mockito.when(userService.authenticated()).thenReturn(user);
+		Mockito.when(userService.authenticatedReference()).thenReturn(user);
 
 		Mockito.when(scoreRepository.saveAndFlush(ArgumentMatchers.any())).thenReturn(score);
 
-		Mockito.when(movieRepository.save(ArgumentMatchers.any())).thenReturn(movie);
+		Mockito.when(movieRepository.applyScore(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(1);
 	}
 	
 	@Test
@@ -77,8 +91,36 @@ public class ScoreServiceTests {
 		Assertions.assertEquals(scoreDTO.getMovieId(), result.getId());
 		Assertions.assertEquals("Test Movie", result.getTitle());
 
+		Mockito.verify(movieRepository, times(1)).searchSummaryById(scoreDTO.getMovieId());
 		Mockito.verify(movieRepository, times(1)).findById(scoreDTO.getMovieId());
 		Mockito.verify(scoreRepository, times(1)).saveAndFlush(ArgumentMatchers.any());
+		Mockito.verify(movieCache, times(1)).invalidate(scoreDTO.getMovieId());
+		Mockito.verify(catalogVersion, times(1)).changed();
+	}
+	
+	@Test
+	public void saveScoreShouldIncrementCountWhenFirstVote() {
+		service.saveScore(scoreDTO);
+
+		Mockito.verify(movieRepository, times(1)).applyScore(existsId, scoreDTO.getScore(), 1);
+	}
+
+	@Test
+	public void saveScoreShouldApplyDifferenceToPreviousVoteWhenUserVotesAgain() {
+		Mockito.when(scoreRepository.searchValueByMovieAndUser(existsId, user.getId())).thenReturn(Optional.of(1.5));
+
+		service.saveScore(scoreDTO);
+
+		Mockito.verify(movieRepository, times(1)).applyScore(existsId, scoreDTO.getScore() - 1.5, 0);
+	}
+
+	@Test
+	public void saveScoreShouldThrowResourceNotFoundExceptionWhenMovieIsDeletedWhileVoting() {
+		Mockito.when(movieRepository.applyScore(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(0);
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.saveScore(scoreDTO);
+		});
 	}
 	
 	@Test
@@ -88,7 +130,30 @@ public class ScoreServiceTests {
 			service.saveScore(scoreDTO);
 		});
 
-		Mockito.verify(movieRepository, Mockito.times(1)).findById(scoreDTO.getMovieId());
+		Mockito.verify(movieRepository, Mockito.times(1)).searchSummaryById(scoreDTO.getMovieId());
 		Mockito.verify(scoreRepository, Mockito.times(0)).saveAndFlush(score);
 	}
+
+	@Test
+	public void saveScoresShouldUpdateAggregateOncePerMovie() {
+		Map<Long, Double> votes = new LinkedHashMap<>();
+		votes.put(2L, 4.0);
+		votes.put(3L, 2.0);
+		Mockito.when(scoreRepository.searchValueByMovieAndUser(existsId, 3L)).thenReturn(Optional.of(5.0));
+
+		service.saveScores(Map.of(existsId, votes));
+
+		Mockito.verify(scoreRepository, times(2)).save(ArgumentMatchers.any());
+		Mockito.verify(movieRepository, times(1)).applyScore(existsId, 4.0 + (2.0 - 5.0), 1);
+		Mockito.verify(movieCache, times(1)).invalidate(existsId);
+	}
+
+	@Test
+	public void saveScoresShouldThrowResourceNotFoundExceptionWhenNonExistingMovieId() {
+		Mockito.when(movieRepository.applyScore(ArgumentMatchers.eq(nonExistsId), ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(0);
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.saveScores(Map.of(nonExistsId, Map.of(2L, 4.0)));
+		});
+	}
 }
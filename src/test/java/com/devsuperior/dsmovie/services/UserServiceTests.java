@@ -10,14 +10,18 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +36,8 @@ public class UserServiceTests {
 	private UserRepository userRepository;
 	@Mock
 	private CustomUserUtil userUtil;
+	@Spy
+	private UserDetailsCache userDetailsCache = new UserDetailsCache();
 
 	private UserEntity user;
 	private String validUsername, invalidUsername;
@@ -39,6 +45,10 @@ public class UserServiceTests {
 
 	@BeforeEach
 	void setUp() throws Exception {
+		ReflectionTestUtils.setField(userDetailsCache, "ttl", Duration.ofMinutes(5));
+		ReflectionTestUtils.setField(userDetailsCache, "maxSize", 100L);
+		userDetailsCache.start();
+
 		user = UserFactory.createUserEntity();
 
 		validUsername = "maria@gmail.com";
@@ -80,14 +90,71 @@ public class UserServiceTests {
 		Mockito.verify(userRepository, Mockito.times(1)).findByUsername(invalidUsername);
 	}
 
+	@Test
+	public void authenticatedReferenceShouldNotQueryWhenTokenCarriesUserId() {
+		Mockito.when(userUtil.getLoggedUserId()).thenReturn(2L);
+		Mockito.when(userRepository.getReferenceById(2L)).thenReturn(user);
+
+		UserEntity result = service.authenticatedReference();
+
+		Assertions.assertSame(user, result);
+		Mockito.verify(userRepository, Mockito.times(1)).getReferenceById(2L);
+		Mockito.verify(userRepository, Mockito.times(0)).findByUsername(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void authenticatedReferenceShouldLookUpUsernameWhenTokenHasNoUserId() {
+		Mockito.when(userUtil.getLoggedUserId()).thenReturn(null);
+		Mockito.when(userUtil.getLoggedUsername()).thenReturn(validUsername);
+
+		UserEntity result = service.authenticatedReference();
+
+		Assertions.assertEquals("Maria", result.getName());
+		Mockito.verify(userRepository, Mockito.times(1)).findByUsername(validUsername);
+		Mockito.verify(userRepository, Mockito.times(0)).getReferenceById(ArgumentMatchers.any());
+	}
+
 	@Test
 	public void loadUserByUsernameShouldReturnUserDetailsWhenUserExists() {
 		UserDetails result = service.loadUserByUsername(validUsername);
 
 		Assertions.assertEquals(result.getUsername(), "maria@gmail.com");
+		Assertions.assertEquals(1L, ((UserEntity) result).getId());
 		Mockito.verify(userRepository, Mockito.times(1)).searchUserAndRolesByUsername(validUsername);
 	}
 
+	@Test
+	public void loadUserByUsernameShouldNotQueryAgainWhenUserIsCached() {
+		service.loadUserByUsername(validUsername);
+		UserDetails result = service.loadUserByUsername(validUsername);
+
+		Assertions.assertEquals("maria@gmail.com", result.getUsername());
+		Mockito.verify(userRepository, Mockito.times(1)).searchUserAndRolesByUsername(validUsername);
+	}
+
+	@Test
+	public void loadUserByUsernameShouldReturnNewRolesAfterEviction() {
+		service.loadUserByUsername(validUsername);
+		Mockito.when(userRepository.searchUserAndRolesByUsername(validUsername))
+				.thenReturn(UserDetailsFactory.createCustomAdminClientUser(validUsername));
+
+		UserDetails cached = service.loadUserByUsername(validUsername);
+		service.evictUserDetails(validUsername);
+		UserDetails result = service.loadUserByUsername(validUsername);
+
+		Assertions.assertEquals(List.of("ROLE_CLIENT"), cached.getAuthorities().stream().map(x -> x.getAuthority()).toList());
+		Assertions.assertEquals(List.of("ROLE_ADMIN", "ROLE_CLIENT"), result.getAuthorities().stream().map(x -> x.getAuthority()).sorted().toList());
+		Mockito.verify(userRepository, Mockito.times(2)).searchUserAndRolesByUsername(validUsername);
+	}
+
+	@Test
+	public void loadUserByUsernameShouldQueryAgainWhenUserDoesNotExists() {
+		Assertions.assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername(invalidUsername));
+		Assertions.assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername(invalidUsername));
+
+		Mockito.verify(userRepository, Mockito.times(2)).searchUserAndRolesByUsername(invalidUsername);
+	}
+
 	@Test
 	public void loadUserByUsernameShouldThrowUsernameNotFoundExceptionWhenUserDoesNotExists() {
 
@@ -2,6 +2,8 @@ package com.devsuperior.dsmovie.tests;
 
 import com.devsuperior.dsmovie.dto.MovieDTO;
 import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.projections.MovieSummaryProjection;
+import com.devsuperior.dsmovie.projections.MovieTitleProjection;
 
 public class MovieFactory {
 	
@@ -10,8 +12,80 @@ public class MovieFactory {
 		return movie;
 	}
 	
+	public static MovieEntity createNewMovieEntity(String title) {
+		return new MovieEntity(null, title, 0.0, 0, "https://www.themoviedb.org/t/p/w533_and_h300_bestv2/jBJWaqoSCiARWtfV0GlqHrcdidd.jpg");
+	}
+	
 	public static MovieDTO createMovieDTO() {
 		MovieEntity movie = createMovieEntity();
 		return new MovieDTO(movie);
 	}
+	
+	public static MovieTitleProjection createMovieTitle(Long id, String title) {
+		return new MovieTitleImpl(id, title);
+	}
+	
+	public static MovieSummaryProjection createMovieSummary() {
+		return new MovieSummaryImpl(createMovieEntity());
+	}
+}
+
+class MovieSummaryImpl implements MovieSummaryProjection {
+	
+	private MovieEntity movie;
+	
+	public MovieSummaryImpl(MovieEntity movie) {
+		this.movie = movie;
+	}
+
+	@Override
+	public Long getId() {
+		return movie.getId();
+	}
+
+	@Override
+	public String getTitle() {
+		return movie.getTitle();
+	}
+
+	@Override
+	public Double getScore() {
+		return movie.getScore();
+	}
+
+	@Override
+	public Integer getCount() {
+		return movie.getCount();
+	}
+
+	@Override
+	public String getImage() {
+		return movie.getImage();
+	}
+
+	@Override
+	public Long getVersion() {
+		return movie.getVersion();
+	}
+}
+
+class MovieTitleImpl implements MovieTitleProjection {
+	
+	private Long id;
+	private String title;
+	
+	public MovieTitleImpl(Long id, String title) {
+		this.id = id;
+		this.title = title;
+	}
+
+	@Override
+	public Long getId() {
+		return id;
+	}
+
+	@Override
+	public String getTitle() {
+		return title;
+	}
 }
@@ -0,0 +1,56 @@
+package com.devsuperior.dsmovie.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.devsuperior.dsmovie.entities.MovieEntity;
+import com.devsuperior.dsmovie.entities.UserEntity;
+import com.devsuperior.dsmovie.repositories.MovieRepository;
+import com.devsuperior.dsmovie.repositories.UserRepository;
+
+/**
+ * Movies and users saved by integration tests that vote, deleted again with all their scores
+ * by deleteAll, so tests sharing the in-memory database never see each other's rows.
+ */
+public class ScoreFixture {
+
+	private final MovieRepository movieRepository;
+	private final UserRepository userRepository;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final List<Long> movieIds = new ArrayList<>();
+	private final List<Long> userIds = new ArrayList<>();
+
+	public ScoreFixture(MovieRepository movieRepository, UserRepository userRepository, NamedParameterJdbcTemplate jdbcTemplate) {
+		this.movieRepository = movieRepository;
+		this.userRepository = userRepository;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public MovieEntity saveMovie(String title) {
+		MovieEntity movie = movieRepository.save(MovieFactory.createNewMovieEntity(title));
+		movieIds.add(movie.getId());
+		return movie;
+	}
+
+	public List<UserEntity> saveUsers(String name, int count) {
+		List<UserEntity> users = userRepository.saveAll(UserFactory.createNewUserEntities(name, count));
+		users.forEach(user -> userIds.add(user.getId()));
+		return users;
+	}
+
+	public void deleteAll() {
+		if (!movieIds.isEmpty()) {
+			jdbcTemplate.update("DELETE FROM tb_score WHERE movie_id IN (:ids)", Map.of("ids", movieIds));
+			jdbcTemplate.update("DELETE FROM tb_movie WHERE id IN (:ids)", Map.of("ids", movieIds));
+		}
+		if (!userIds.isEmpty()) {
+			jdbcTemplate.update("DELETE FROM tb_score WHERE user_id IN (:ids)", Map.of("ids", userIds));
+			jdbcTemplate.update("DELETE FROM tb_user WHERE id IN (:ids)", Map.of("ids", userIds));
+		}
+		movieIds.clear();
+		userIds.clear();
+	}
+}
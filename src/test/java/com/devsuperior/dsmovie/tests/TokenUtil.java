@@ -5,6 +5,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.json.JacksonJsonParser;
 import org.springframework.stereotype.Component;
@@ -23,12 +25,30 @@ public class TokenUtil {
 	private String clientSecret;
 	
 	public String obtainAccessToken(MockMvc mockMvc, String username, String password) throws Exception {
+		return obtainTokens(mockMvc, username, password).get("access_token").toString();
+	}
+
+	public Map<String, Object> obtainTokens(MockMvc mockMvc, String username, String password) throws Exception {
 
 		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
 		params.add("grant_type", "password");
 		params.add("username", username);
 		params.add("password", password);
 
+		return requestTokens(mockMvc, params);
+	}
+
+	public Map<String, Object> refreshTokens(MockMvc mockMvc, String refreshToken) throws Exception {
+
+		MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+		params.add("grant_type", "refresh_token");
+		params.add("refresh_token", refreshToken);
+
+		return requestTokens(mockMvc, params);
+	}
+
+	private Map<String, Object> requestTokens(MockMvc mockMvc, MultiValueMap<String, String> params) throws Exception {
+
 		ResultActions result = mockMvc
 				.perform(post("/oauth2/token")
 						.params(params)
@@ -40,6 +60,6 @@ public class TokenUtil {
 		String resultString = result.andReturn().getResponse().getContentAsString();
 
 		JacksonJsonParser jsonParser = new JacksonJsonParser();
-		return jsonParser.parseMap(resultString).get("access_token").toString();
+		return jsonParser.parseMap(resultString);
 	}
 }
@@ -1,5 +1,9 @@
 package com.devsuperior.dsmovie.tests;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import com.devsuperior.dsmovie.entities.UserEntity;
 
 public class UserFactory {
@@ -8,4 +12,16 @@ public class UserFactory {
 		UserEntity user = new UserEntity(2L, "Maria", "maria@gmail.com", "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG");
 		return user;
 	}
+	
+	/**
+	 * Unsaved users with usernames unique to this call, so repeated fixtures never collide.
+	 */
+	public static List<UserEntity> createNewUserEntities(String name, int count) {
+		String suffix = UUID.randomUUID().toString();
+		List<UserEntity> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			users.add(new UserEntity(null, name + " " + i, name.toLowerCase() + i + "-" + suffix + "@gmail.com", "123"));
+		}
+		return users;
+	}
 }
@@ -0,0 +1,88 @@
+package com.devsuperior.dsmovie.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ScoreUtilTests {
+
+	private DecimalFormat df;
+	private double[] samples;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		df = new DecimalFormat("#.##", new DecimalFormatSymbols(Locale.US));
+
+		Random random = new Random(20240511L);
+		samples = new double[200_000];
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = switch (i % 5) {
+				case 0 -> random.nextDouble() * 5;
+				// decimal ties such as 2.125 or 4.675, exact and inexact in binary
+				case 1 -> random.nextInt(5001) / 1000.0;
+				case 2 -> (random.nextInt(50001) + 0.5) / 10000.0 * (random.nextBoolean() ? 1 : -1);
+				case 3 -> Math.scalb(random.nextDouble(), random.nextInt(80) - 30);
+				default -> random.nextDouble() * 1e18 - 5e17;
+			};
+		}
+	}
+
+	@Test
+	public void roundShouldMatchDecimalFormatOutput() {
+		for (double sample : samples) {
+			Assertions.assertEquals(Double.valueOf(df.format(sample)), ScoreUtil.round(sample), "score " + sample);
+		}
+	}
+
+	@Test
+	public void roundShouldMatchDecimalFormatOutputOnEdgeValues() {
+		double[] edges = {0.0, -0.0, 0.005, 0.015, 0.125, 0.135, 2.675, 4.995, 5.0, -0.001, 1e-320,
+				Math.nextDown(0.005), Math.nextUp(0.005), 0x1p52 / 100, Math.nextDown(0x1p52 / 100), 9.007199254740993E15};
+		for (double edge : edges) {
+			Assertions.assertEquals(Double.valueOf(df.format(edge)), ScoreUtil.round(edge), "score " + edge);
+		}
+		Assertions.assertTrue(Double.isNaN(ScoreUtil.round(Double.NaN)));
+	}
+
+	@Test
+	public void roundShouldBeConsistentWhenCalledConcurrently() throws Exception {
+		double[] expected = new double[samples.length];
+		for (int i = 0; i < samples.length; i++) {
+			expected[i] = Double.valueOf(df.format(samples[i]));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> mismatches = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int offset = t;
+				mismatches.add(executor.submit(() -> {
+					int count = 0;
+					for (int i = 0; i < samples.length; i++) {
+						int index = (i + offset * 7919) % samples.length;
+						if (Double.compare(expected[index], ScoreUtil.round(samples[index])) != 0) {
+							count++;
+						}
+					}
+					return count;
+				}));
+			}
+			for (Future<Integer> future : mismatches) {
+				Assertions.assertEquals(0, future.get());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.devsuperior.dsmovie.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTests {
+
+	private SingleFlight<Long, String> singleFlight;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		singleFlight = new SingleFlight<>();
+		loads = new AtomicInteger();
+	}
+
+	@Test
+	public void executeShouldLoadAgainWhenPreviousLoadFinished() {
+		Assertions.assertEquals("1", singleFlight.execute(1L, key -> String.valueOf(loads.incrementAndGet())));
+		Assertions.assertEquals("2", singleFlight.execute(1L, key -> String.valueOf(loads.incrementAndGet())));
+
+		Assertions.assertEquals(2, loads.get());
+		Assertions.assertEquals(0L, singleFlight.coalesced());
+	}
+
+	@Test
+	public void executeShouldShareExceptionWithWaitingCallers() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, key -> {
+			started.countDown();
+			await(release);
+			throw new IllegalStateException("Load failed");
+		}));
+		Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, key -> "not called"));
+		while (singleFlight.coalesced() < 1) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		ExecutionException leaderError = Assertions.assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+		ExecutionException followerError = Assertions.assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+		Assertions.assertSame(leaderError.getCause(), followerError.getCause());
+		Assertions.assertEquals("ok", singleFlight.execute(1L, key -> "ok"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
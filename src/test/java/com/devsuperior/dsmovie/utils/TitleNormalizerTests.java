@@ -0,0 +1,27 @@
+package com.devsuperior.dsmovie.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TitleNormalizerTests {
+
+	@Test
+	public void normalizeShouldStripAccentsAndLowercase() {
+		Assertions.assertEquals("star wars: episodio i - a ameaca fantasma",
+				TitleNormalizer.normalize("Star Wars: Episódio I - A Ameaça Fantasma"));
+		Assertions.assertEquals("shang-chi e a lenda dos dez aneis",
+				TitleNormalizer.normalize("Shang-Chi e a Lenda dos Dez Anéis"));
+	}
+
+	@Test
+	public void normalizeShouldBeIdempotent() {
+		String once = TitleNormalizer.normalize("O Silêncio dos Inocentes");
+
+		Assertions.assertEquals(once, TitleNormalizer.normalize(once));
+	}
+
+	@Test
+	public void normalizeShouldReturnEmptyWhenNull() {
+		Assertions.assertEquals("", TitleNormalizer.normalize(null));
+	}
+}